@@ -0,0 +1,56 @@
+-- Comparação entre a consulta gerada pelo Example (antiga) e a consulta por Specification
+-- com os índices das migrações em src/main/resources/db/migration, sobre uma base de 10 milhões de lançamentos.
+-- Uso: psql -d minhasfinancas -f benchmark/busca_lancamentos.sql
+
+\timing on
+
+INSERT INTO financas.usuario (nome, email, senha)
+SELECT 'usuario ' || u, 'usuario' || u || '@email.com', 'senha'
+FROM generate_series(1, 10000) u;
+
+INSERT INTO financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro)
+SELECT g,
+       (ARRAY['Conta de Luz', 'Aluguel', 'Salário', 'Mercado', 'Internet', 'Academia'])[1 + (g % 6)] || ' ' || (g % 997),
+       1 + (g % 12),
+       2013 + (g % 11),
+       round((random() * 1000)::numeric, 2),
+       CASE WHEN g % 3 = 0 THEN 'RECEITA' ELSE 'DESPESA' END,
+       (ARRAY['PENDENTE', 'CANCELADO', 'EFETIVADO'])[1 + (g % 3)],
+       1 + (g % 10000),
+       current_date - (g % 3650)
+FROM generate_series(1, 10000000) g;
+
+SELECT setval('financas.lancamento_id_seq', 10000000);
+
+ANALYZE financas.lancamento;
+
+-- Antiga: Example com withIgnoreCase + CONTAINING (todos os atributos não nulos, inclusive data_cadastro)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM financas.lancamento l JOIN financas.usuario u ON u.id = l.id_usuario
+WHERE lower(l.descricao) LIKE '%luz%' AND l.ano = 2023 AND u.id = 42
+  AND lower(u.email) = 'usuario42@email.com' AND lower(u.nome) = 'usuario 42' AND lower(u.senha) = 'senha';
+
+-- Nova: apenas os predicados informados, servida por idx_lancamento_usuario_ano_mes
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM financas.lancamento l
+WHERE l.id_usuario = 42 AND l.ano = 2023 AND lower(l.descricao) LIKE '%luz%'
+ORDER BY l.ano, l.mes, l.id;
+
+-- Nova, busca só por descrição: servida por idx_lancamento_descricao_trgm
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM financas.lancamento l
+WHERE lower(l.descricao) LIKE '%aluguel 13%';
+
+-- Página seguinte pelo cursor (ano, mes, id)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM financas.lancamento l
+WHERE l.id_usuario = 42
+  AND (l.ano > 2020 OR (l.ano = 2020 AND l.mes > 6) OR (l.ano = 2020 AND l.mes = 6 AND l.id > 5000000))
+ORDER BY l.ano, l.mes, l.id
+LIMIT 50;
+
+-- Poda de partições: o ano corrente lê apenas lancamento_2023 (as demais não aparecem no plano)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM financas.lancamento l
+WHERE l.id_usuario = 42 AND l.ano = 2023
+ORDER BY l.ano, l.mes, l.id;
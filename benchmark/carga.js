@@ -0,0 +1,51 @@
+// Teste de carga do modo de execução (threads de plataforma x threads virtuais).
+// Pressupõe a base de benchmark/busca_lancamentos.sql (10 mil usuários com a senha "senha").
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e TAXA=2000 benchmark/carga.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USUARIOS = parseInt(__ENV.USUARIOS || '10000');
+const SESSOES = parseInt(__ENV.SESSOES || '200');
+
+export const options = {
+	scenarios: {
+		leitura: {
+			executor: 'constant-arrival-rate',
+			rate: parseInt(__ENV.TAXA || '1000'),
+			timeUnit: '1s',
+			duration: __ENV.DURACAO || '2m',
+			preAllocatedVUs: 500,
+			maxVUs: 5000,
+		},
+	},
+	thresholds: {
+		http_req_failed: ['rate<0.01'],
+		http_req_duration: ['p(95)<500', 'p(99)<1000'],
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+	const sessoes = [];
+	for (let i = 0; i < SESSOES; i++) {
+		const usuario = 1 + Math.floor(Math.random() * USUARIOS);
+		const resposta = http.post(`${BASE_URL}/api/usuarios/autenticar`,
+			JSON.stringify({ email: `usuario${usuario}@email.com`, senha: 'senha' }),
+			{ headers: { 'Content-Type': 'application/json' } });
+		sessoes.push({ usuario, token: resposta.json('token') });
+	}
+	return sessoes;
+}
+
+export default function (sessoes) {
+	const { usuario, token } = sessoes[Math.floor(Math.random() * sessoes.length)];
+	const autorizacao = { headers: { Authorization: `Bearer ${token}` } };
+	const ano = 2013 + Math.floor(Math.random() * 11);
+	const respostas = http.batch([
+		['GET', `${BASE_URL}/api/lancamentos?ano=${ano}`, null, { ...autorizacao, tags: { name: 'lancamentos' } }],
+		['GET', `${BASE_URL}/api/usuarios/${usuario}/saldo`, null, { tags: { name: 'saldo' } }],
+	]);
+	respostas.forEach(r => check(r, { 'status 200': res => res.status === 200 }));
+}
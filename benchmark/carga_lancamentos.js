@@ -0,0 +1,85 @@
+// Teste de carga de POST e GET /api/lancamentos, para comparar o profile padrão com o profile producao.
+// Pressupõe a base de benchmark/busca_lancamentos.sql (10 mil usuários com a senha "senha").
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e TAXA_ESCRITA=500 -e TAXA_LEITURA=1000 benchmark/carga_lancamentos.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USUARIOS = parseInt(__ENV.USUARIOS || '10000');
+const SESSOES = parseInt(__ENV.SESSOES || '200');
+const DURACAO = __ENV.DURACAO || '2m';
+
+export const options = {
+	scenarios: {
+		escrita: {
+			executor: 'constant-arrival-rate',
+			exec: 'escrita',
+			rate: parseInt(__ENV.TAXA_ESCRITA || '500'),
+			timeUnit: '1s',
+			duration: DURACAO,
+			preAllocatedVUs: 200,
+			maxVUs: 2000,
+		},
+		leitura: {
+			executor: 'constant-arrival-rate',
+			exec: 'leitura',
+			rate: parseInt(__ENV.TAXA_LEITURA || '1000'),
+			timeUnit: '1s',
+			duration: DURACAO,
+			preAllocatedVUs: 300,
+			maxVUs: 3000,
+		},
+	},
+	thresholds: {
+		'http_req_failed': ['rate<0.01'],
+		'http_reqs{scenario:escrita}': ['count>0'],
+		'http_reqs{scenario:leitura}': ['count>0'],
+		'http_req_duration{scenario:escrita}': ['p(95)<500'],
+		'http_req_duration{scenario:leitura}': ['p(95)<500'],
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+	const sessoes = [];
+	for (let i = 0; i < SESSOES; i++) {
+		const usuario = 1 + Math.floor(Math.random() * USUARIOS);
+		const resposta = http.post(`${BASE_URL}/api/usuarios/autenticar`,
+			JSON.stringify({ email: `usuario${usuario}@email.com`, senha: 'senha' }),
+			{ headers: { 'Content-Type': 'application/json' } });
+		sessoes.push({ usuario, token: resposta.json('token') });
+	}
+	return sessoes;
+}
+
+function sessao(sessoes) {
+	return sessoes[Math.floor(Math.random() * sessoes.length)];
+}
+
+export function escrita(sessoes) {
+	const { token } = sessao(sessoes);
+	const lancamento = {
+		descricao: 'Carga ' + Math.floor(Math.random() * 1000),
+		mes: 1 + Math.floor(Math.random() * 12),
+		ano: 2023,
+		valor: (Math.random() * 1000).toFixed(2),
+		tipo: Math.random() < 0.3 ? 'RECEITA' : 'DESPESA',
+		status: 'PENDENTE',
+	};
+	const resposta = http.post(`${BASE_URL}/api/lancamentos`, JSON.stringify(lancamento), {
+		headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` },
+		tags: { name: 'salvar' },
+	});
+	check(resposta, { 'status 201': r => r.status === 201 });
+}
+
+export function leitura(sessoes) {
+	const { token } = sessao(sessoes);
+	const ano = 2013 + Math.floor(Math.random() * 11);
+	const resposta = http.get(`${BASE_URL}/api/lancamentos?ano=${ano}`, {
+		headers: { Authorization: `Bearer ${token}` },
+		tags: { name: 'buscar' },
+	});
+	check(resposta, { 'status 200': r => r.status === 200 });
+}
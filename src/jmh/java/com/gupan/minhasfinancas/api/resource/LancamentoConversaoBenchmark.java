@@ -0,0 +1,81 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.service.UsuarioService;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LancamentoConversaoBenchmark {
+
+	@Param({ "1", "1000" })
+	private int quantidade;
+
+	private LancamentoResource resource;
+
+	private ObjectMapper objectMapper;
+
+	private LancamentoDTO dto;
+
+	private List<ItemLancamentoDTO> itens;
+
+	@Setup
+	public void iniciar() {
+		Usuario usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").senha("senha").build();
+		UsuarioService usuarioService = (UsuarioService) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { UsuarioService.class },
+				(proxy, metodo, argumentos) -> "obterReferencia".equals(metodo.getName()) ? usuario : null);
+
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		resource = new LancamentoResource(null, usuarioService, objectMapper, null, null, null);
+		dto = LancamentoDTO.builder().id(1L).descricao("Conta de Luz").mes(1).ano(2023)
+				.valor(BigDecimal.valueOf(120.5)).usuario(1L).tipo("DESPESA").status("PENDENTE").build();
+
+		// A listagem devolve os itens projetados pela consulta, não as entidades.
+		itens = new ArrayList<>();
+		for (long i = 1; i <= quantidade; i++) {
+			itens.add(ItemLancamentoDTO.de(Lancamento.builder().id(i).descricao("Conta de Luz " + i).mes(1).ano(2023)
+					.usuario(usuario).valor(BigDecimal.valueOf(120.5)).tipo(TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE).versao(0L).build()));
+		}
+	}
+
+	@Benchmark
+	public Lancamento converter() {
+		return resource.converter(dto, 1L);
+	}
+
+	@Benchmark
+	public byte[] serializar() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(itens);
+	}
+}
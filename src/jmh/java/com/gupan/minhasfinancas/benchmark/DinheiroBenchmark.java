@@ -0,0 +1,87 @@
+package com.gupan.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DinheiroBenchmark {
+
+	@Param({ "1000000" })
+	private int quantidade;
+
+	private BigDecimal[] valores;
+
+	private Dinheiro[] dinheiros;
+
+	private long[] centavos;
+
+	@Setup
+	public void iniciar() {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		valores = new BigDecimal[quantidade];
+		dinheiros = new Dinheiro[quantidade];
+		centavos = new long[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			valores[i] = BigDecimal.valueOf(aleatorio.nextLong(-500_000, 500_000), 2);
+			dinheiros[i] = Dinheiro.de(valores[i]);
+			centavos[i] = dinheiros[i].getCentavos();
+		}
+	}
+
+	@Benchmark
+	public BigDecimal somarBigDecimal() {
+		BigDecimal total = BigDecimal.ZERO;
+		for (BigDecimal valor : valores) {
+			total = total.add(valor);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public Dinheiro somarDinheiro() {
+		Dinheiro total = Dinheiro.ZERO;
+		for (Dinheiro valor : dinheiros) {
+			total = total.somar(valor);
+		}
+		return total;
+	}
+
+	// Como no LancamentosEmMemoria e na exportação OFX: acumula os centavos e só cria o Dinheiro no fim.
+	@Benchmark
+	public Dinheiro somarCentavos() {
+		long total = 0;
+		for (long valor : centavos) {
+			total = Math.addExact(total, valor);
+		}
+		return Dinheiro.deCentavos(total);
+	}
+
+	@Benchmark
+	public Dinheiro converterESomar() {
+		long total = 0;
+		for (BigDecimal valor : valores) {
+			total = Math.addExact(total, Dinheiro.centavos(valor));
+		}
+		return Dinheiro.deCentavos(total);
+	}
+}
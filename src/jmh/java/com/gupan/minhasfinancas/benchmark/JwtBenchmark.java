@@ -0,0 +1,49 @@
+package com.gupan.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.service.impl.JwtServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+	private JwtServiceImpl service;
+
+	private Usuario usuario;
+
+	private String token;
+
+	@Setup
+	public void iniciar() {
+		service = new JwtServiceImpl("", 30);
+		usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+		token = service.gerarToken(usuario);
+	}
+
+	@Benchmark
+	public String gerarToken() {
+		return service.gerarToken(usuario);
+	}
+
+	@Benchmark
+	public Long verificarToken() {
+		return service.obterIdUsuario(token);
+	}
+}
@@ -0,0 +1,153 @@
+package com.gupan.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gupan.minhasfinancas.MinhasfinancasApplication;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.LancamentoService;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
+
+/**
+ * Consultas contra o H2 de application-test.properties. Os lançamentos são
+ * distribuídos entre {@link #USUARIOS} usuários e as consultas usam o usuário 1.
+ * {@code buscar} e {@code obterSaldoPorUsuario} passam pelo cache e, depois da primeira
+ * chamada, medem só o acerto; os métodos {@code SemCache} vão sempre ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LancamentoConsultaBenchmark {
+
+	private static final int USUARIOS = 10;
+
+	@Param({ "1000", "100000", "1000000", "10000000" })
+	private int quantidade;
+
+	private ConfigurableApplicationContext contexto;
+
+	private LancamentoService service;
+
+	private LancamentoRepository repository;
+
+	private SaldoUsuarioService saldoService;
+
+	private Lancamento filtro;
+
+	private Long idUsuario;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class).profiles("test")
+				.web(WebApplicationType.NONE).logStartupInfo(false)
+				.initializers(inicial -> inicial.getBeanFactory().registerSingleton("excluirClassesDeTeste",
+						new ExcluirClassesDeTeste()))
+				.run();
+		popular(contexto.getBean(JdbcTemplate.class));
+		contexto.getBean(SaldoUsuarioService.class).recalcular();
+		contexto.getBean(ResumoMensalService.class).recalcular();
+
+		service = contexto.getBean(LancamentoService.class);
+		repository = contexto.getBean(LancamentoRepository.class);
+		saldoService = contexto.getBean(SaldoUsuarioService.class);
+		idUsuario = 1L;
+		filtro = new Lancamento();
+		filtro.setUsuario(new Usuario(idUsuario));
+		filtro.setAno(2023);
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<ItemLancamentoDTO> buscar() {
+		return service.buscar(filtro);
+	}
+
+	@Benchmark
+	public List<ItemLancamentoDTO> buscarSemCache() {
+		return repository.listar(filtro);
+	}
+
+	@Benchmark
+	public List<ItemLancamentoDTO> buscarPagina() {
+		return service.buscar(filtro, null, 50);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoSemCache() {
+		return saldoService.obterSaldo(idUsuario);
+	}
+
+	@Benchmark
+	public List<Object[]> calcularSaldoPelosLancamentos() {
+		return repository.obterTotaisPorTipo(idUsuario);
+	}
+
+	/**
+	 * As classes de teste estão no classpath do benchmark; sem este filtro, as configurações
+	 * internas dos testes entram na varredura de componentes da aplicação.
+	 */
+	static class ExcluirClassesDeTeste extends TypeExcludeFilter {
+
+		@Override
+		public boolean match(MetadataReader leitor, MetadataReaderFactory fabrica) {
+			return leitor.getClassMetadata().getClassName().matches(".*Test(\\$.*)?");
+		}
+
+		@Override
+		public boolean equals(Object outro) {
+			return outro != null && getClass() == outro.getClass();
+		}
+
+		@Override
+		public int hashCode() {
+			return getClass().hashCode();
+		}
+	}
+
+	private void popular(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) "
+				+ "select 'usuario ' || x, 'usuario' || x || '@email.com', 'senha' from system_range(1, " + USUARIOS + ")");
+		jdbcTemplate.update("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro) "
+				+ "select x, 'Conta de Luz ' || mod(x, 997), 1 + mod(x, 12), 2013 + mod(x, 11), mod(x, 1000) + 0.5, "
+				+ "casewhen(mod(x, 3) = 0, 'RECEITA', 'DESPESA'), 'PENDENTE', 1 + mod(x, " + USUARIOS + "), current_date "
+				+ "from system_range(1, " + quantidade + ")");
+	}
+}
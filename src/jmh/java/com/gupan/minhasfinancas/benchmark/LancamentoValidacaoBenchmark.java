@@ -0,0 +1,47 @@
+package com.gupan.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LancamentoValidacaoBenchmark {
+
+	private LancamentoServiceImpl service;
+
+	private Lancamento lancamento;
+
+	@Setup
+	public void iniciar() {
+		service = new LancamentoServiceImpl(null, null, null, null, null, Optional.empty());
+		lancamento = Lancamento.builder().descricao("Conta de Luz").mes(1).ano(2023)
+				.usuario(new Usuario(1L)).valor(BigDecimal.valueOf(120.5)).tipo(TipoLancamento.DESPESA).build();
+	}
+
+	@Benchmark
+	public Lancamento validar() {
+		service.validar(lancamento);
+		return lancamento;
+	}
+}
@@ -0,0 +1,67 @@
+package com.gupan.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.config.SenhaConfig;
+import com.gupan.minhasfinancas.service.impl.SenhaServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class SenhaBenchmark {
+
+	private static final String SENHA = "senha-do-usuario";
+
+	@Param({ "bcrypt:10", "bcrypt:12", "argon2:19456" })
+	public String algoritmo;
+
+	@Param({ "false", "true" })
+	public boolean conferenciaEmCache;
+
+	private SenhaServiceImpl service;
+
+	private String senhaGravada;
+
+	@Setup
+	public void iniciar() {
+		String[] partes = algoritmo.split(":");
+		int custo = Integer.parseInt(partes[1]);
+		CacheManager cacheManager = conferenciaEmCache ? new ConcurrentMapCacheManager(CacheConfig.SENHAS_CONFERIDAS)
+				: new NoOpCacheManager();
+		service = new SenhaServiceImpl(SenhaConfig.criarCodificador(partes[0], custo, custo, 2), cacheManager, 0,
+				10_000, 60_000);
+		senhaGravada = service.codificar(SENHA);
+	}
+
+	@TearDown
+	public void encerrar() {
+		service.encerrar();
+	}
+
+	@Benchmark
+	public boolean autenticar() {
+		return service.confere(SENHA, senhaGravada);
+	}
+}
@@ -0,0 +1,30 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class AtualizaStatusLoteDTO {
+
+	private String status;
+	
+	private List<Long> ids;
+	
+	private Integer ano;
+	
+	private Integer mes;
+}
@@ -0,0 +1,47 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class ConciliacaoSaldoDTO {
+
+	private String situacao;
+	
+	private LocalDateTime inicio;
+	
+	private LocalDateTime fim;
+	
+	private Integer faixas;
+	
+	private Integer faixasConcluidas;
+	
+	private Long usuariosVerificados;
+	
+	private Long lancamentosLidos;
+	
+	private Long duracaoMs;
+	
+	private Long lancamentosPorSegundo;
+	
+	private Long quantidadeDivergencias;
+	
+	private List<DivergenciaSaldoDTO> divergencias;
+	
+	private String erro;
+}
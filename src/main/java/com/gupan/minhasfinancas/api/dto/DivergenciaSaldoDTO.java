@@ -0,0 +1,28 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class DivergenciaSaldoDTO {
+
+	private Long idUsuario;
+	
+	private Dinheiro saldoArmazenado;
+	
+	private Dinheiro saldoCalculado;
+}
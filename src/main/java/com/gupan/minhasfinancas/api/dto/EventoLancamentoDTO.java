@@ -0,0 +1,57 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EventoLancamentoDTO {
+
+	private Long posicao;
+
+	private TipoEvento tipoEvento;
+
+	private Long idUsuario;
+
+	private Long id;
+
+	private String descricao;
+
+	private Integer mes;
+
+	private Integer ano;
+
+	private BigDecimal valor;
+
+	private TipoLancamento tipo;
+
+	private StatusLancamento status;
+
+	private Long versao;
+
+	private LocalDateTime dataEvento;
+
+	public static EventoLancamentoDTO de(EventoLancamento evento) {
+		return new EventoLancamentoDTO(evento.getPosicao(), evento.getTipoEvento(), evento.getIdUsuario(),
+				evento.getIdLancamento(), evento.getDescricao(), evento.getMes(), evento.getAno(), evento.getValor(),
+				evento.getTipo(), evento.getStatus(), evento.getVersao(), evento.getDataEvento());
+	}
+}
@@ -0,0 +1,50 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ItemLancamentoDTO {
+
+	private Long id;
+
+	private String descricao;
+
+	private Integer mes;
+
+	private Integer ano;
+
+	private BigDecimal valor;
+
+	private TipoLancamento tipo;
+
+	private StatusLancamento status;
+
+	private LocalDate dataCadastro;
+
+	private Long versao;
+
+	public static ItemLancamentoDTO de(Lancamento lancamento) {
+		return new ItemLancamentoDTO(lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(),
+				lancamento.getAno(), lancamento.getValor(), lancamento.getTipo(), lancamento.getStatus(),
+				lancamento.getDataCadastro(), lancamento.getVersao());
+	}
+}
@@ -0,0 +1,59 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class RecorrenciaDTO {
+
+	private Long id;
+	
+	private String descricao;
+	
+	private BigDecimal valor;
+	
+	private String tipo;
+	
+	private Integer mes;
+	
+	private Integer ano;
+	
+	private Integer parcelas;
+	
+	private Integer mesFinal;
+	
+	private Integer anoFinal;
+	
+	private Integer geradas;
+	
+	public static RecorrenciaDTO de(Recorrencia recorrencia) {
+		return RecorrenciaDTO.builder()
+				.id(recorrencia.getId())
+				.descricao(recorrencia.getDescricao())
+				.valor(recorrencia.getValor())
+				.tipo(recorrencia.getTipo() == null ? null : recorrencia.getTipo().name())
+				.mes(recorrencia.getMes())
+				.ano(recorrencia.getAno())
+				.parcelas(recorrencia.getParcelas())
+				.mesFinal(recorrencia.getMesFinal())
+				.anoFinal(recorrencia.getAnoFinal())
+				.geradas(recorrencia.getGeradas())
+				.build();
+	}
+}
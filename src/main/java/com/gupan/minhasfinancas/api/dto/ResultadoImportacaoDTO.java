@@ -0,0 +1,32 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class ResultadoImportacaoDTO {
+
+	private Integer total;
+	
+	private Integer importados;
+	
+	private List<ErroImportacaoDTO> erros;
+	
+	private Long duracaoMs;
+	
+	private Long linhasPorSegundo;
+}
@@ -0,0 +1,34 @@
+package com.gupan.minhasfinancas.api.dto;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+
+public class ResumoMensalDTO {
+
+	private Integer ano;
+	
+	private Integer mes;
+	
+	private String tipo;
+	
+	private String status;
+	
+	private Long quantidade;
+	
+	private Dinheiro total;
+}
@@ -0,0 +1,106 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.service.ExportacaoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/lancamentos/exportacao")
+@RequiredArgsConstructor
+public class ExportacaoLancamentoResource {
+
+	private static final String CSV = "csv";
+
+	private static final String OFX = "ofx";
+
+	private static final int TAMANHO_BUFFER_GZIP = 64 * 1024;
+
+	private final ExportacaoLancamentoService service;
+
+	@GetMapping
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam(value = "formato", defaultValue = CSV) String formato,
+			@RequestParam(value = "de", required = false) String de,
+			@RequestParam(value = "ate", required = false) String ate,
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		if (!CSV.equals(formato) && !OFX.equals(formato)) {
+			return erro("Informe o formato csv ou ofx.");
+		}
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(new Usuario(idUsuario));
+		YearMonth inicio;
+		YearMonth fim;
+		try {
+			inicio = de == null ? null : YearMonth.parse(de);
+			fim = ate == null ? null : YearMonth.parse(ate);
+		} catch (DateTimeParseException e) {
+			return erro("Informe o período no formato aaaa-mm.");
+		}
+		try {
+			filtro.setTipo(tipo == null ? null : TipoLancamento.valueOf(tipo));
+			filtro.setStatus(status == null ? null : StatusLancamento.valueOf(status));
+		} catch (IllegalArgumentException e) {
+			return erro("Tipo ou status de lançamento inválido.");
+		}
+
+		StreamingResponseBody corpo = saida -> {
+			if (gzip) {
+				GZIPOutputStream compactada = new GZIPOutputStream(saida, TAMANHO_BUFFER_GZIP);
+				escrever(formato, filtro, inicio, fim, compactada);
+				compactada.finish();
+			} else {
+				escrever(formato, filtro, inicio, fim, saida);
+			}
+		};
+
+		String arquivo = "lancamentos." + formato + (gzip ? ".gz" : "");
+		MediaType tipoConteudo = gzip ? MediaType.parseMediaType("application/gzip")
+				: CSV.equals(formato) ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+						: MediaType.parseMediaType("application/x-ofx");
+		return ResponseEntity.ok()
+				.contentType(tipoConteudo)
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+				.body(corpo);
+	}
+
+	private void escrever(String formato, Lancamento filtro, YearMonth inicio, YearMonth fim,
+			OutputStream saida) throws IOException {
+		if (CSV.equals(formato)) {
+			service.exportarCsv(filtro, inicio, fim, saida);
+		} else {
+			service.exportarOfx(filtro, inicio, fim, saida);
+		}
+	}
+
+	private ResponseEntity<StreamingResponseBody> erro(String mensagem) {
+		return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+	}
+}
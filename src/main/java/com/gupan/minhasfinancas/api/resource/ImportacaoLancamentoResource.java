@@ -0,0 +1,47 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.service.ImportacaoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/lancamentos/importacao")
+@RequiredArgsConstructor
+public class ImportacaoLancamentoResource {
+
+	private final ImportacaoLancamentoService service;
+
+	@PostMapping
+	public ResponseEntity importar(@RequestBody List<LancamentoDTO> lancamentos,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		ResultadoImportacaoDTO resultado = service.importar(idUsuario, lancamentos);
+		return ResponseEntity.ok(resultado);
+	}
+
+	@PostMapping("/csv")
+	public ResponseEntity importarCsv(@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		try (InputStream csv = arquivo.getInputStream()) {
+			ResultadoImportacaoDTO resultado = service.importarCsv(idUsuario, csv);
+			return ResponseEntity.ok(resultado);
+		} catch (IOException e) {
+			return ResponseEntity.badRequest().body("Não foi possível ler o arquivo informado.");
+		}
+	}
+}
@@ -1,28 +1,56 @@
 package com.gupan.minhasfinancas.api.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gupan.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.gupan.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
 import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.PaginaEventosDTO;
+import com.gupan.minhasfinancas.api.dto.PaginaLancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ResultadoAtualizacaoStatusDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.exception.IdempotenciaException;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
 import com.gupan.minhasfinancas.model.entity.Lancamento;
 import com.gupan.minhasfinancas.model.entity.Usuario;
 import com.gupan.minhasfinancas.model.enums.StatusLancamento;
 import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+import com.gupan.minhasfinancas.service.IdempotenciaService;
 import com.gupan.minhasfinancas.service.LancamentoService;
+import com.gupan.minhasfinancas.service.RecorrenciaService;
 import com.gupan.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,92 +60,338 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoResource {
 
+	private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+	private static final String NDJSON = "application/x-ndjson";
+
+	private static final String LANCAMENTO_NAO_ENCONTRADO = "Lançamento não encontrado na Base de Dados.";
+
+	private static final String LANCAMENTO_ALTERADO = "O lançamento foi alterado por outra requisição.";
+
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+	public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
 	private final LancamentoService service;
 
 	private final UsuarioService usuarioService;
 
+	private final ObjectMapper objectMapper;
+
+	private final IdempotenciaService idempotenciaService;
+
+	private final EventoLancamentoService eventoService;
+
+	private final RecorrenciaService recorrenciaService;
+
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	public ResponseEntity salvar(@RequestBody LancamentoDTO dto,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
+		if (chaveIdempotencia == null) {
+			return salvar(dto, idUsuario);
+		}
 		try {
-			Lancamento entidade = converter(dto);
+			AtomicBoolean executada = new AtomicBoolean();
+			Idempotencia resposta = idempotenciaService.executar(idUsuario, chaveIdempotencia, assinatura(dto), () -> {
+				executada.set(true);
+				return registrar(salvar(dto, idUsuario));
+			});
+			return reproduzir(resposta, !executada.get());
+		} catch (IdempotenciaException e) {
+			return ResponseEntity.status(e.isEmAndamento() ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY)
+					.body(e.getMessage());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	private ResponseEntity salvar(LancamentoDTO dto, Long idUsuario) {
+		try {
+			Lancamento entidade = converter(dto, idUsuario);
 			entidade = service.salvar(entidade);
-			return new ResponseEntity(entidade, HttpStatus.CREATED);
+			return ResponseEntity.status(HttpStatus.CREATED).eTag(etag(entidade.getVersao()))
+					.body(ItemLancamentoDTO.de(entidade));
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (DataIntegrityViolationException e) {
+			return ResponseEntity.badRequest().body("Não foi possível salvar o lançamento. Verifique o usuário informado.");
 		}
 	}
 
 	@GetMapping
 	public ResponseEntity buscar(@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
-			@RequestParam(value = "ano", required = false) Integer ano, @RequestParam("usuario") Long idUsuario) {
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "previstos", defaultValue = "false") boolean previstos,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		Lancamento filtro = criarFiltro(descricao, mes, ano, idUsuario);
+		List<ItemLancamentoDTO> lancamentos = service.buscar(filtro);
+		if (previstos) {
+			// As ocorrências ainda não geradas vêm sem id e sem versão, por isso a resposta não tem ETag.
+			List<ItemLancamentoDTO> todos = new ArrayList<>(lancamentos);
+			try {
+				todos.addAll(recorrenciaService.projetar(filtro));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+			todos.sort(Comparator.comparing(ItemLancamentoDTO::getAno).thenComparing(ItemLancamentoDTO::getMes));
+			return ResponseEntity.ok(todos);
+		}
+
+		return ResponseEntity.ok().eTag(etag(lancamentos)).body(lancamentos);
+	}
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
-		if (!usuario.isPresent()) {
+	@GetMapping("{id}")
+	public ResponseEntity obterPorId(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		return obterDoUsuario(id, idUsuario)
+				.map(lancamento -> ResponseEntity.ok().eTag(etag(lancamento.getVersao())).body(ItemLancamentoDTO.de(lancamento)))
+				.orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.NOT_FOUND));
+	}
+
+	@GetMapping("/pagina")
+	public ResponseEntity buscarPagina(@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", defaultValue = "50") int tamanho) {
+		if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
 			return ResponseEntity.badRequest()
-					.body("Não foi possível realizar a consulta. Usuário não encontrado para o ID informado.");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+					.body("Informe um tamanho de página entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
 		}
 
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
+		Lancamento ultimo = null;
+		if (cursor != null) {
+			try {
+				ultimo = lerCursor(cursor);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		}
+
+		List<ItemLancamentoDTO> lancamentos = service.buscar(criarFiltro(descricao, mes, ano, idUsuario), ultimo, tamanho);
+		String proximo = lancamentos.size() < tamanho ? null : escreverCursor(lancamentos.get(lancamentos.size() - 1));
 
-		return ResponseEntity.ok(lancamentos);
+		return ResponseEntity.ok().eTag(etag(lancamentos))
+				.body(PaginaLancamentoDTO.builder().itens(lancamentos).proximo(proximo).build());
+	}
+
+	@GetMapping(value = "/stream", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> buscarStream(@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		Lancamento lancamentoFiltro = criarFiltro(descricao, mes, ano, idUsuario);
+		StreamingResponseBody corpo = saida -> service.percorrer(lancamentoFiltro, lancamento -> {
+			try {
+				saida.write(objectMapper.writeValueAsBytes(lancamento));
+				saida.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		return ResponseEntity.ok(corpo);
+	}
+
+	@GetMapping("/changes")
+	public ResponseEntity buscarAlteracoes(@RequestParam(value = "since", defaultValue = "0") Long cursor,
+			@RequestParam(value = "tamanho", defaultValue = "100") int tamanho,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+			return ResponseEntity.badRequest()
+					.body("Informe um tamanho de página entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+		}
+
+		List<EventoLancamentoDTO> eventos = eventoService.buscarAlteracoes(idUsuario, cursor, tamanho).stream()
+				.map(EventoLancamentoDTO::de).collect(Collectors.toList());
+		Long proximo = eventos.isEmpty() ? cursor : eventos.get(eventos.size() - 1).getPosicao();
+
+		return ResponseEntity.ok(PaginaEventosDTO.builder().eventos(eventos).cursor(proximo).build());
 	}
 
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String versaoEsperada,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(entity -> {
+			if (!corresponde(versaoEsperada, entity.getVersao())) {
+				return versaoDivergente(entity);
+			}
 			try {
-				Lancamento lancamento = converter(dto);
+				Lancamento lancamento = converter(dto, idUsuario);
 				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				lancamento.setVersao(entity.getVersao());
+				lancamento = service.atualizar(lancamento);
+				return ResponseEntity.ok().eTag(etag(lancamento.getVersao())).body(ItemLancamentoDTO.de(lancamento));
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(LANCAMENTO_ALTERADO, HttpStatus.CONFLICT);
 			}
-		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na Base de Dados.", HttpStatus.BAD_REQUEST));
+		}).orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
 	}
 
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return service.obterPorId(id).map(entidade -> {
-			service.deletar(entidade);
-			return new ResponseEntity(HttpStatus.NO_CONTENT);
-		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na Base de Dados.", HttpStatus.BAD_REQUEST));
+	public ResponseEntity deletar(@PathVariable("id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String versaoEsperada,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(entidade -> {
+			if (!corresponde(versaoEsperada, entidade.getVersao())) {
+				return versaoDivergente(entidade);
+			}
+			try {
+				service.deletar(entidade);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(LANCAMENTO_ALTERADO, HttpStatus.CONFLICT);
+			}
+		}).orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
 	}
 	
 	@PutMapping("{id}/atualizaStatus")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return service.obterPorId(id).map( entity -> {
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String versaoEsperada,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map( entity -> {
+			if (!corresponde(versaoEsperada, entity.getVersao())) {
+				return versaoDivergente(entity);
+			}
 			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
 			if(statusSelecionado == null) {
 				return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento.");		
 			}
 			try {
 				entity.setStatus(statusSelecionado);
-				service.atualizar(entity);
-				return ResponseEntity.ok(entity);
+				Lancamento lancamento = service.atualizar(entity);
+				return ResponseEntity.ok().eTag(etag(lancamento.getVersao())).body(ItemLancamentoDTO.de(lancamento));
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(LANCAMENTO_ALTERADO, HttpStatus.CONFLICT);
 			}
-		}).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na Base de Dados.", HttpStatus.BAD_REQUEST));
+		}).orElseGet(() -> new ResponseEntity(LANCAMENTO_NAO_ENCONTRADO, HttpStatus.BAD_REQUEST));
+	}
+
+	@PutMapping("atualizaStatus")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		try {
+			StatusLancamento status = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+			int atualizados = service.atualizarStatusEmLote(criarFiltro(null, dto.getMes(), dto.getAno(), idUsuario),
+					dto.getIds(), status);
+			return ResponseEntity.ok(ResultadoAtualizacaoStatusDTO.builder().atualizados(atualizados).build());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lançamentos.");
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	private String assinatura(LancamentoDTO dto) {
+		try {
+			return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(dto));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Idempotencia registrar(ResponseEntity resposta) {
+		Object corpo = resposta.getBody();
+		try {
+			return Idempotencia.builder().status(resposta.getStatusCodeValue()).etag(resposta.getHeaders().getETag())
+					.tipoConteudo(corpo instanceof String ? MediaType.TEXT_PLAIN_VALUE : MediaType.APPLICATION_JSON_VALUE)
+					.corpo(corpo instanceof String ? (String) corpo : objectMapper.writeValueAsString(corpo)).build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private ResponseEntity reproduzir(Idempotencia resposta, boolean repetida) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.status(resposta.getStatus())
+				.contentType(MediaType.parseMediaType(resposta.getTipoConteudo()));
+		if (resposta.getEtag() != null) {
+			builder.eTag(resposta.getEtag());
+		}
+		if (repetida) {
+			builder.header(IDEMPOTENT_REPLAYED, "true");
+		}
+		return builder.body(resposta.getCorpo());
+	}
+
+	private Optional<Lancamento> obterDoUsuario(Long id, Long idUsuario) {
+		return service.obterPorId(id).filter(lancamento -> idUsuario.equals(lancamento.getUsuario().getId()));
+	}
+
+	private ResponseEntity versaoDivergente(Lancamento lancamento) {
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etag(lancamento.getVersao()))
+				.body(LANCAMENTO_ALTERADO);
+	}
+
+	private boolean corresponde(String versaoEsperada, Long versao) {
+		if (versaoEsperada == null) {
+			return true;
+		}
+		for (String valor : versaoEsperada.split(",")) {
+			String etag = valor.trim();
+			if (etag.equals("*") || etag.equals(etag(versao))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String etag(Long versao) {
+		return "\"" + versao + "\"";
+	}
+
+	private String etag(List<ItemLancamentoDTO> lancamentos) {
+		long assinatura = 1;
+		for (ItemLancamentoDTO lancamento : lancamentos) {
+			assinatura = 31 * assinatura + lancamento.getId();
+			assinatura = 31 * assinatura + lancamento.getVersao();
+		}
+		return "\"" + lancamentos.size() + "-" + Long.toHexString(assinatura) + "\"";
+	}
+
+	private Lancamento criarFiltro(String descricao, Integer mes, Integer ano, Long idUsuario) {
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMes(mes);
+		lancamentoFiltro.setAno(ano);
+		lancamentoFiltro.setUsuario(new Usuario(idUsuario));
+		return lancamentoFiltro;
+	}
+
+	private Lancamento lerCursor(String cursor) {
+		String[] partes = cursor.split("-");
+		try {
+			if (partes.length != 3) {
+				throw new NumberFormatException();
+			}
+			Lancamento ultimo = new Lancamento(Long.valueOf(partes[2]));
+			ultimo.setAno(Integer.valueOf(partes[0]));
+			ultimo.setMes(Integer.valueOf(partes[1]));
+			return ultimo;
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+
+	private String escreverCursor(ItemLancamentoDTO lancamento) {
+		return lancamento.getAno() + "-" + lancamento.getMes() + "-" + lancamento.getId();
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
+	Lancamento converter(LancamentoDTO dto, Long idUsuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-		Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o ID informado."));
-		lancamento.setUsuario(usuario);
+		lancamento.setUsuario(usuarioService.obterReferencia(idUsuario));
 		if(dto.getTipo() != null) {
 			lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
 		}
@@ -0,0 +1,81 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gupan.minhasfinancas.api.dto.RecorrenciaDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.service.RecorrenciaService;
+import com.gupan.minhasfinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaResource {
+
+	private static final String RECORRENCIA_NAO_ENCONTRADA = "Recorrência não encontrada na Base de Dados.";
+
+	private final RecorrenciaService service;
+
+	private final UsuarioService usuarioService;
+
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody RecorrenciaDTO dto,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		try {
+			Recorrencia recorrencia = service.salvar(converter(dto, idUsuario));
+			return ResponseEntity.status(HttpStatus.CREATED).body(RecorrenciaDTO.de(recorrencia));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping
+	public ResponseEntity buscar(@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		List<RecorrenciaDTO> recorrencias = service.buscar(idUsuario).stream().map(RecorrenciaDTO::de)
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(recorrencias);
+	}
+
+	@DeleteMapping("{id}")
+	public ResponseEntity deletar(@PathVariable("id") Long id,
+			@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		return service.obterPorId(id).filter(recorrencia -> idUsuario.equals(recorrencia.getUsuario().getId()))
+				.map(recorrencia -> {
+					service.deletar(recorrencia);
+					return new ResponseEntity(HttpStatus.NO_CONTENT);
+				}).orElseGet(() -> new ResponseEntity(RECORRENCIA_NAO_ENCONTRADA, HttpStatus.BAD_REQUEST));
+	}
+
+	private Recorrencia converter(RecorrenciaDTO dto, Long idUsuario) {
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao(dto.getDescricao());
+		recorrencia.setValor(dto.getValor());
+		recorrencia.setMes(dto.getMes());
+		recorrencia.setAno(dto.getAno());
+		recorrencia.setParcelas(dto.getParcelas());
+		recorrencia.setMesFinal(dto.getMesFinal());
+		recorrencia.setAnoFinal(dto.getAnoFinal());
+		recorrencia.setUsuario(usuarioService.obterReferencia(idUsuario));
+		if (dto.getTipo() != null) {
+			recorrencia.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+		}
+		return recorrencia;
+	}
+}
@@ -0,0 +1,46 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gupan.minhasfinancas.api.dto.ResumoMensalDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/lancamentos/resumo")
+@RequiredArgsConstructor
+public class ResumoMensalResource {
+
+	private final ResumoMensalService service;
+
+	@GetMapping
+	public ResponseEntity obterResumo(@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario,
+			@RequestParam(value = "anoInicial", required = false) Integer anoInicial,
+			@RequestParam(value = "anoFinal", required = false) Integer anoFinal) {
+		List<ResumoMensalDTO> resumo = service.obterResumo(idUsuario, anoInicial, anoFinal).stream()
+				.map(this::converter).collect(Collectors.toList());
+		return ResponseEntity.ok(resumo);
+	}
+
+	private ResumoMensalDTO converter(ResumoMensal resumo) {
+		return ResumoMensalDTO.builder()
+				.ano(resumo.getId().getAno())
+				.mes(resumo.getId().getMes())
+				.tipo(resumo.getId().getTipo().name())
+				.status(resumo.getId().getStatus().name())
+				.quantidade(resumo.getQuantidade())
+				.total(resumo.getTotal())
+				.build();
+	}
+}
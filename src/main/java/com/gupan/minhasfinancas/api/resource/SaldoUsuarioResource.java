@@ -0,0 +1,54 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.service.ConciliacaoSaldoService;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/saldos")
+@RequiredArgsConstructor
+public class SaldoUsuarioResource {
+
+	private final SaldoUsuarioService service;
+
+	private final ConciliacaoSaldoService conciliacaoService;
+
+	private final ResumoMensalService resumoService;
+
+	@PostMapping("/recalcular")
+	public ResponseEntity recalcular() {
+		service.recalcular();
+		return new ResponseEntity(HttpStatus.NO_CONTENT);
+	}
+
+	@PostMapping("/resumos/recalcular")
+	public ResponseEntity recalcularResumos() {
+		resumoService.recalcular();
+		return new ResponseEntity(HttpStatus.NO_CONTENT);
+	}
+
+	@PostMapping("/conciliacao")
+	public ResponseEntity conciliar() {
+		try {
+			return ResponseEntity.accepted().body(conciliacaoService.iniciar());
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+
+	@GetMapping("/conciliacao")
+	public ResponseEntity obterConciliacao() {
+		return conciliacaoService.obterAndamento().map(andamento -> ResponseEntity.ok(andamento))
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+}
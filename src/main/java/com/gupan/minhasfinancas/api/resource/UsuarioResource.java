@@ -6,16 +6,20 @@ import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.gupan.minhasfinancas.api.dto.TokenDTO;
 import com.gupan.minhasfinancas.api.dto.UsuarioDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
 import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.exception.ServicoIndisponivelException;
 import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.service.JwtService;
 import com.gupan.minhasfinancas.service.LancamentoService;
 import com.gupan.minhasfinancas.service.UsuarioService;
 
@@ -28,6 +32,7 @@ public class UsuarioResource {
 
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final JwtService jwtService;
 
 	@PostMapping
 	public ResponseEntity salvar(@RequestBody UsuarioDTO dto) {
@@ -37,6 +42,8 @@ public class UsuarioResource {
 			return new ResponseEntity(usuarioSalvo, HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ServicoIndisponivelException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
 		}
 	}
 
@@ -44,19 +51,27 @@ public class UsuarioResource {
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
 		try {
 			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
+			TokenDTO token = TokenDTO.builder()
+					.id(usuarioAutenticado.getId())
+					.nome(usuarioAutenticado.getNome())
+					.email(usuarioAutenticado.getEmail())
+					.token(jwtService.gerarToken(usuarioAutenticado))
+					.build();
+			return ResponseEntity.ok(token);
 		} catch (ErroAutenticacaoException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (ServicoIndisponivelException e) {
+			return new ResponseEntity(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
 		}
 	}
 
-	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
+	@GetMapping("/saldo")
+	public ResponseEntity obterSaldo(@RequestAttribute(AutenticacaoFilter.USUARIO) Long idUsuario) {
+		Optional<Usuario> usuario = service.obterPorId(idUsuario);
 		if (!usuario.isPresent()) {
 			return new ResponseEntity(HttpStatus.NOT_FOUND);
 		}
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(idUsuario);
 		return ResponseEntity.ok(saldo);
 	}
 }
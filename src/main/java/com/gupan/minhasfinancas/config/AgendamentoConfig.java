@@ -0,0 +1,10 @@
+package com.gupan.minhasfinancas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Cada tarefa agendada só existe quando habilitada pela sua propriedade (recorrências, eventos, réplicas).
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
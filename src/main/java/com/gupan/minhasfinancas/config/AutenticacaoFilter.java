@@ -0,0 +1,80 @@
+package com.gupan.minhasfinancas.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
+import com.gupan.minhasfinancas.service.JwtService;
+
+public class AutenticacaoFilter extends OncePerRequestFilter {
+
+	public static final String USUARIO = "minhasfinancas.usuario";
+
+	private static final String BEARER = "Bearer ";
+
+	private final JwtService jwtService;
+
+	private final Set<Long> administradores;
+
+	public AutenticacaoFilter(JwtService jwtService) {
+		this(jwtService, null);
+	}
+
+	/**
+	 * Com {@code administradores} informado, só os usuários desse conjunto passam; os demais recebem 403.
+	 */
+	public AutenticacaoFilter(JwtService jwtService, Set<Long> administradores) {
+		this.jwtService = jwtService;
+		this.administradores = administradores;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return HttpMethod.OPTIONS.matches(request.getMethod());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (autorizacao == null || !autorizacao.startsWith(BEARER)) {
+			recusar(response, HttpServletResponse.SC_UNAUTHORIZED, "Informe o token de acesso.");
+			return;
+		}
+
+		Long idUsuario;
+		try {
+			idUsuario = jwtService.obterIdUsuario(autorizacao.substring(BEARER.length()));
+		} catch (ErroAutenticacaoException e) {
+			recusar(response, HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+			return;
+		}
+		if (administradores != null && !administradores.contains(idUsuario)) {
+			recusar(response, HttpServletResponse.SC_FORBIDDEN, "Acesso restrito aos administradores.");
+			return;
+		}
+		request.setAttribute(USUARIO, idUsuario);
+		chain.doFilter(request, response);
+	}
+
+	private void recusar(HttpServletResponse response, int status, String mensagem) throws IOException {
+		response.setStatus(status);
+		if (status == HttpServletResponse.SC_UNAUTHORIZED) {
+			response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+		}
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write(mensagem);
+	}
+}
@@ -0,0 +1,18 @@
+package com.gupan.minhasfinancas.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+public class CacheCompartilhado {
+
+	// Não é um bean CacheManager para não substituir o Caffeine configurado pelo Spring Boot.
+	private final CacheManager cacheManager;
+
+	public CacheCompartilhado(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	public Cache obter(String nome) {
+		return cacheManager.getCache(nome);
+	}
+}
@@ -0,0 +1,109 @@
+package com.gupan.minhasfinancas.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.impl.LancamentosEmMemoria;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String USUARIOS = "usuarios";
+
+	public static final String USUARIOS_POR_EMAIL = "usuariosPorEmail";
+
+	public static final String SENHAS_CONFERIDAS = "senhasConferidas";
+
+	public static final String SALDOS = "saldos";
+
+	public static final String LANCAMENTOS = "lancamentos";
+
+	public static final String GERACOES_CONSULTA = "geracoesConsulta";
+
+	@Bean
+	public CacheManagerCustomizer<CaffeineCacheManager> cacheLancamentos(
+			@Value("${minhasfinancas.cache.lancamentos.maximo-itens}") long maximoItens) {
+		return cacheManager -> cacheManager.registerCustomCache(LANCAMENTOS, Caffeine.newBuilder()
+				.maximumWeight(maximoItens)
+				.weigher((Object chave, Object valor) -> valor instanceof Collection ? ((Collection<?>) valor).size() + 1 : 1)
+				.expireAfterWrite(Duration.ofMinutes(10))
+				.recordStats()
+				.build());
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.cache.compartilhado.tipo", havingValue = "redis")
+	public CacheCompartilhado cacheCompartilhadoRedis(RedisConnectionFactory conexoes, ObjectMapper objectMapper,
+			@Value("${minhasfinancas.cache.compartilhado.ttl-minutos}") long ttlMinutos) {
+		// Cada cache lê um único tipo conhecido: o JSON guardado no Redis não escolhe a classe a instanciar.
+		ObjectMapper mapeador = objectMapper.copy();
+		TypeFactory tipos = mapeador.getTypeFactory();
+		RedisCacheConfiguration configuracao = RedisCacheConfiguration.defaultCacheConfig()
+				.entryTtl(Duration.ofMinutes(ttlMinutos))
+				.disableCachingNullValues()
+				.prefixCacheNameWith("minhasfinancas:");
+		return new CacheCompartilhado(RedisCacheManager.builder(conexoes)
+				.withCacheConfiguration(SALDOS, serializando(configuracao, mapeador, tipos.constructType(BigDecimal.class)))
+				.withCacheConfiguration(LANCAMENTOS, serializando(configuracao, mapeador,
+						tipos.constructCollectionType(List.class, ItemLancamentoDTO.class)))
+				.withCacheConfiguration(GERACOES_CONSULTA, serializando(configuracao, mapeador, tipos.constructType(String.class)))
+				.disableCreateOnMissingCache()
+				.build());
+	}
+
+	private static RedisCacheConfiguration serializando(RedisCacheConfiguration configuracao, ObjectMapper mapeador,
+			JavaType tipo) {
+		Jackson2JsonRedisSerializer<Object> serializador = new Jackson2JsonRedisSerializer<>(tipo);
+		serializador.setObjectMapper(mapeador);
+		return configuracao.serializeValuesWith(SerializationPair.fromSerializer(serializador));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.memoria.habilitada", havingValue = "true")
+	public LancamentosEmMemoria lancamentosEmMemoria(LancamentoRepository repository,
+			Optional<LeituraPropria> leituraPropria,
+			@Value("${minhasfinancas.memoria.maximo-lancamentos}") long maximoLancamentos,
+			@Value("${minhasfinancas.memoria.maximo-por-usuario}") int maximoPorUsuario,
+			@Value("${minhasfinancas.memoria.acessos-para-carregar}") int acessosParaCarregar,
+			@Value("${minhasfinancas.memoria.particoes}") int particoes,
+			@Value("${minhasfinancas.memoria.validade-minutos}") long validadeMinutos,
+			@Value("${minhasfinancas.cache.compartilhado.tipo:nenhum}") String cacheCompartilhado) {
+		// O cache compartilhado indica várias instâncias, e a memória só recebe as gravações da própria instância.
+		if ("redis".equals(cacheCompartilhado)) {
+			throw new IllegalStateException("minhasfinancas.memoria.habilitada=true só pode ser usado com uma única "
+					+ "instância; desabilite-o ou remova minhasfinancas.cache.compartilhado.tipo=redis.");
+		}
+		return new LancamentosEmMemoria(repository, leituraPropria, maximoLancamentos, maximoPorUsuario,
+				acessosParaCarregar, particoes, Duration.ofMinutes(validadeMinutos));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.cache.compartilhado.tipo", havingValue = "local")
+	public CacheCompartilhado cacheCompartilhadoLocal() {
+		return new CacheCompartilhado(new ConcurrentMapCacheManager());
+	}
+}
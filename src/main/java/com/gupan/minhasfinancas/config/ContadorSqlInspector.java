@@ -0,0 +1,22 @@
+package com.gupan.minhasfinancas.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class ContadorSqlInspector implements StatementInspector {
+
+	private static final ThreadLocal<int[]> CONTADOR = ThreadLocal.withInitial(() -> new int[1]);
+
+	@Override
+	public String inspect(String sql) {
+		CONTADOR.get()[0]++;
+		return sql;
+	}
+
+	public static void zerar() {
+		CONTADOR.get()[0] = 0;
+	}
+
+	public static int obter() {
+		return CONTADOR.get()[0];
+	}
+}
@@ -0,0 +1,11 @@
+package com.gupan.minhasfinancas.config;
+
+import java.util.List;
+
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+
+// Recebe os lotes do publicador dentro da transação que marca os eventos: se falhar, o lote é reenviado.
+public interface DestinoEventos {
+
+	void publicar(List<EventoLancamentoDTO> eventos);
+}
@@ -0,0 +1,43 @@
+package com.gupan.minhasfinancas.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+
+// Um evento JSON por linha, acrescentado ao fim do arquivo.
+public class DestinoEventosArquivo implements DestinoEventos {
+
+	private final Path arquivo;
+
+	private final ObjectMapper objectMapper;
+
+	public DestinoEventosArquivo(Path arquivo, ObjectMapper objectMapper) {
+		this.arquivo = arquivo;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public synchronized void publicar(List<EventoLancamentoDTO> eventos) {
+		try {
+			if (arquivo.getParent() != null) {
+				Files.createDirectories(arquivo.getParent());
+			}
+			try (OutputStream saida = Files.newOutputStream(arquivo, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND)) {
+				for (EventoLancamentoDTO evento : eventos) {
+					saida.write(objectMapper.writeValueAsBytes(evento));
+					saida.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.gupan.minhasfinancas.config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+
+public class DestinoEventosMemoria implements DestinoEventos {
+
+	private final Deque<EventoLancamentoDTO> eventos = new ArrayDeque<>();
+
+	private final int maximo;
+
+	public DestinoEventosMemoria(int maximo) {
+		this.maximo = maximo;
+	}
+
+	@Override
+	public synchronized void publicar(List<EventoLancamentoDTO> lote) {
+		for (EventoLancamentoDTO evento : lote) {
+			if (eventos.size() == maximo) {
+				eventos.removeFirst();
+			}
+			eventos.addLast(evento);
+		}
+	}
+
+	public synchronized List<EventoLancamentoDTO> getEventos() {
+		return new ArrayList<>(eventos);
+	}
+}
@@ -0,0 +1,27 @@
+package com.gupan.minhasfinancas.config;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class EventosConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.eventos.destino", havingValue = "memoria", matchIfMissing = true)
+	public DestinoEventos destinoEventosMemoria(@Value("${minhasfinancas.eventos.memoria.maximo:10000}") int maximo) {
+		return new DestinoEventosMemoria(maximo);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "minhasfinancas.eventos.destino", havingValue = "arquivo")
+	public DestinoEventos destinoEventosArquivo(@Value("${minhasfinancas.eventos.arquivo}") String arquivo,
+			ObjectMapper objectMapper) {
+		return new DestinoEventosArquivo(Paths.get(arquivo), objectMapper);
+	}
+}
@@ -0,0 +1,55 @@
+package com.gupan.minhasfinancas.config;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Leitura das próprias escritas: logo após o usuário gravar, as consultas dele vão para o primário.
+public class LeituraPropria {
+
+	private final ThreadLocal<Boolean> noPrimario = new ThreadLocal<>();
+
+	private final Cache<Long, Boolean> escritasRecentes;
+
+	private final long janelaMs;
+
+	public LeituraPropria(long janelaMs) {
+		this.janelaMs = janelaMs;
+		this.escritasRecentes = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(janelaMs)).build();
+	}
+
+	public long getJanelaMs() {
+		return janelaMs;
+	}
+
+	public void registrarEscrita(Long idUsuario) {
+		escritasRecentes.put(idUsuario, Boolean.TRUE);
+	}
+
+	public <T> T noPrimario(Supplier<T> consulta) {
+		Boolean anterior = noPrimario.get();
+		noPrimario.set(Boolean.TRUE);
+		try {
+			return consulta.get();
+		} finally {
+			if (anterior == null) {
+				noPrimario.remove();
+			}
+		}
+	}
+
+	public boolean exigePrimario() {
+		if (Boolean.TRUE.equals(noPrimario.get())) {
+			return true;
+		}
+		RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+		Object idUsuario = requisicao == null ? null
+				: requisicao.getAttribute(AutenticacaoFilter.USUARIO, RequestAttributes.SCOPE_REQUEST);
+		return idUsuario instanceof Long && escritasRecentes.getIfPresent(idUsuario) != null;
+	}
+}
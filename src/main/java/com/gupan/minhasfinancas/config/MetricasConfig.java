@@ -0,0 +1,15 @@
+package com.gupan.minhasfinancas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasConfig {
+
+	@Bean
+	public ServicoMetricasAspect servicoMetricasAspect(MeterRegistry registry) {
+		return new ServicoMetricasAspect(registry);
+	}
+}
@@ -0,0 +1,61 @@
+package com.gupan.minhasfinancas.config;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class MetricasInterceptor implements HandlerInterceptor {
+
+	public static final String METRICA = "minhasfinancas.http.sql";
+
+	private static final String INICIO = MetricasInterceptor.class.getName() + ".inicio";
+
+	private final MeterRegistry registry;
+
+	private final long limiteLentoMs;
+
+	public MetricasInterceptor(MeterRegistry registry, long limiteLentoMs) {
+		this.registry = registry;
+		this.limiteLentoMs = limiteLentoMs;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		ContadorSqlInspector.zerar();
+		request.setAttribute(INICIO, System.nanoTime());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Object inicio = request.getAttribute(INICIO);
+		if (inicio == null) {
+			return;
+		}
+		int instrucoes = ContadorSqlInspector.obter();
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = padrao == null ? "UNKNOWN" : padrao.toString();
+
+		DistributionSummary.builder(METRICA)
+				.description("Instruções SQL executadas por requisição")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.register(registry)
+				.record(instrucoes);
+
+		long duracaoMs = (System.nanoTime() - (Long) inicio) / 1_000_000;
+		if (duracaoMs >= limiteLentoMs) {
+			String consulta = request.getQueryString() == null ? "" : "?" + request.getQueryString();
+			log.warn("Requisição lenta: {} {}{} status={} duracao={}ms instrucoesSql={}", request.getMethod(),
+					request.getRequestURI(), consulta, response.getStatus(), duracaoMs, instrucoes);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.gupan.minhasfinancas.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+@ConditionalOnExpression("!'${minhasfinancas.replicas.urls:}'.isEmpty()")
+public class ReplicasConfig {
+
+	@Bean
+	public LeituraPropria leituraPropria(@Value("${minhasfinancas.replicas.janela-leitura-propria-ms}") long janelaMs) {
+		return new LeituraPropria(janelaMs);
+	}
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+		return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public RoteamentoDataSource roteamentoDataSource(HikariDataSource dataSourcePrimario, LeituraPropria leituraPropria,
+			@Value("${minhasfinancas.replicas.urls}") List<String> urls,
+			@Value("${minhasfinancas.replicas.consulta-atraso}") String consultaAtraso,
+			@Value("${minhasfinancas.replicas.atraso-maximo-ms}") long atrasoMaximoMs) {
+		List<DataSource> replicas = new ArrayList<>();
+		for (int i = 0; i < urls.size(); i++) {
+			HikariConfig configuracao = new HikariConfig();
+			dataSourcePrimario.copyStateTo(configuracao);
+			configuracao.setJdbcUrl(urls.get(i).trim());
+			configuracao.setPoolName("replica-" + i);
+			configuracao.setReadOnly(true);
+			replicas.add(new HikariDataSource(configuracao));
+		}
+
+		// A verificação do atraso é agendada pelo @Scheduled de RoteamentoDataSource.verificarReplicas.
+		return new RoteamentoDataSource(dataSourcePrimario, replicas, leituraPropria, consultaAtraso, atrasoMaximoMs);
+	}
+
+	@Bean
+	public MeterBinder replicasDisponiveis(RoteamentoDataSource roteamentoDataSource) {
+		return registry -> Gauge.builder("minhasfinancas.replicas.disponiveis", roteamentoDataSource,
+				roteamento -> roteamento.getReplicasDisponiveis().size()).register(registry);
+	}
+
+	// A conexão só é obtida no primeiro comando, quando a transação já sabe se é somente leitura.
+	@Bean
+	@Primary
+	public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+		return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+	}
+
+	// Com o open-in-view a sessão seguraria a conexão da réplica até o fim da requisição, inclusive nas escritas.
+	@Bean
+	public HibernatePropertiesCustomizer liberarConexaoAoFimDaTransacao() {
+		return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+}
@@ -0,0 +1,113 @@
+package com.gupan.minhasfinancas.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Transações somente leitura vão para as réplicas em rodízio; o restante, para o primário.
+@Slf4j
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	public static final String PRIMARIO = "primario";
+
+	private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+	private final LeituraPropria leituraPropria;
+
+	private final String consultaAtraso;
+
+	private final long atrasoMaximoMs;
+
+	private final AtomicInteger proxima = new AtomicInteger();
+
+	private volatile List<String> disponiveis;
+
+	public RoteamentoDataSource(DataSource primario, List<DataSource> replicas, LeituraPropria leituraPropria,
+			String consultaAtraso, long atrasoMaximoMs) {
+		this.leituraPropria = leituraPropria;
+		this.consultaAtraso = consultaAtraso;
+		this.atrasoMaximoMs = atrasoMaximoMs;
+
+		Map<Object, Object> destinos = new HashMap<>();
+		destinos.put(PRIMARIO, primario);
+		for (int i = 0; i < replicas.size(); i++) {
+			this.replicas.put("replica-" + i, replicas.get(i));
+		}
+		destinos.putAll(this.replicas);
+		setTargetDataSources(destinos);
+		setDefaultTargetDataSource(primario);
+		this.disponiveis = new ArrayList<>(this.replicas.keySet());
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || leituraPropria.exigePrimario()) {
+			return PRIMARIO;
+		}
+		List<String> atuais = disponiveis;
+		if (atuais.isEmpty()) {
+			return PRIMARIO;
+		}
+		return atuais.get(Math.floorMod(proxima.getAndIncrement(), atuais.size()));
+	}
+
+	public List<String> getReplicasDisponiveis() {
+		return disponiveis;
+	}
+
+	@Scheduled(fixedDelayString = "${minhasfinancas.replicas.verificacao-ms}")
+	public void verificarReplicas() {
+		List<String> atuais = new ArrayList<>();
+		replicas.forEach((nome, replica) -> {
+			try {
+				double atraso = medirAtraso(replica);
+				if (atraso <= atrasoMaximoMs) {
+					atuais.add(nome);
+				} else {
+					log.warn("Réplica {} fora do rodízio: atraso de {} ms.", nome, (long) atraso);
+				}
+			} catch (SQLException | RuntimeException e) {
+				log.warn("Réplica {} fora do rodízio: {}", nome, e.getMessage());
+			}
+		});
+		disponiveis = Collections.unmodifiableList(atuais);
+	}
+
+	private double medirAtraso(DataSource replica) throws SQLException {
+		try (Connection conexao = replica.getConnection();
+				Statement comando = conexao.createStatement();
+				ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+			return resultado.next() ? resultado.getDouble(1) : Double.MAX_VALUE;
+		}
+	}
+
+	@Override
+	public void close() {
+		for (DataSource replica : replicas.values()) {
+			if (replica instanceof Closeable) {
+				try {
+					((Closeable) replica).close();
+				} catch (Exception e) {
+					log.warn("Não foi possível fechar a réplica: {}", e.getMessage());
+				}
+			}
+		}
+	}
+}
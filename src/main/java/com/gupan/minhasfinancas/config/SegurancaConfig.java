@@ -0,0 +1,35 @@
+package com.gupan.minhasfinancas.config;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.gupan.minhasfinancas.service.JwtService;
+
+@Configuration
+public class SegurancaConfig {
+
+	@Bean
+	public FilterRegistrationBean<AutenticacaoFilter> autenticacaoFilter(JwtService jwtService) {
+		FilterRegistrationBean<AutenticacaoFilter> registro = new FilterRegistrationBean<>(
+				new AutenticacaoFilter(jwtService));
+		registro.setName("autenticacaoFilter");
+		registro.addUrlPatterns("/api/lancamentos/*", "/api/recorrencias/*", "/api/usuarios/saldo");
+		return registro;
+	}
+
+	// Rotinas que percorrem os saldos de todos os usuários: só para os ids listados (vazio: ninguém).
+	@Bean
+	public FilterRegistrationBean<AutenticacaoFilter> administracaoFilter(JwtService jwtService,
+			@Value("${minhasfinancas.administradores:}") List<Long> administradores) {
+		FilterRegistrationBean<AutenticacaoFilter> registro = new FilterRegistrationBean<>(
+				new AutenticacaoFilter(jwtService, new HashSet<>(administradores)));
+		registro.setName("administracaoFilter");
+		registro.addUrlPatterns("/api/saldos/*");
+		return registro;
+	}
+}
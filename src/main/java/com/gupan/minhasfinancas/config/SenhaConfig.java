@@ -0,0 +1,62 @@
+package com.gupan.minhasfinancas.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class SenhaConfig {
+
+	public static final String BCRYPT = "bcrypt";
+
+	public static final String ARGON2 = "argon2";
+
+	@Bean
+	public PasswordEncoder passwordEncoder(@Value("${minhasfinancas.senha.algoritmo:bcrypt}") String algoritmo,
+			@Value("${minhasfinancas.senha.bcrypt.custo:10}") int custoBcrypt,
+			@Value("${minhasfinancas.senha.argon2.memoria-kb:19456}") int memoriaArgon2,
+			@Value("${minhasfinancas.senha.argon2.iteracoes:2}") int iteracoesArgon2) {
+		return criarCodificador(algoritmo, custoBcrypt, memoriaArgon2, iteracoesArgon2);
+	}
+
+	public static PasswordEncoder criarCodificador(String algoritmo, int custoBcrypt, int memoriaArgon2,
+			int iteracoesArgon2) {
+		Map<String, PasswordEncoder> codificadores = new HashMap<>();
+		codificadores.put(BCRYPT, new BCryptPasswordEncoder(custoBcrypt));
+		codificadores.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, memoriaArgon2, iteracoesArgon2));
+		if (!codificadores.containsKey(algoritmo)) {
+			throw new IllegalStateException("Algoritmo de senha não suportado: " + algoritmo);
+		}
+
+		DelegatingPasswordEncoder codificador = new DelegatingPasswordEncoder(algoritmo, codificadores);
+		codificador.setDefaultPasswordEncoderForMatches(new SenhaLegada());
+		return codificador;
+	}
+
+	// Senhas gravadas em texto puro antes do hash, migradas no próximo login.
+	private static class SenhaLegada implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence senha) {
+			throw new UnsupportedOperationException("Senhas em texto puro não são mais gravadas.");
+		}
+
+		@Override
+		public boolean matches(CharSequence senha, String senhaGravada) {
+			if (senha == null || senhaGravada == null) {
+				return false;
+			}
+			return MessageDigest.isEqual(senha.toString().getBytes(StandardCharsets.UTF_8),
+					senhaGravada.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
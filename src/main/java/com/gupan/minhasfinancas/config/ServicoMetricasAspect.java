@@ -0,0 +1,38 @@
+package com.gupan.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Aspect
+public class ServicoMetricasAspect {
+
+	public static final String METRICA = "minhasfinancas.servico";
+
+	private final MeterRegistry registry;
+
+	public ServicoMetricasAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("within(com.gupan.minhasfinancas.service.impl..*) && execution(public * *(..))")
+	public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample amostra = Timer.start(registry);
+		String excecao = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			amostra.stop(Timer.builder(METRICA)
+					.tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+					.tag("metodo", joinPoint.getSignature().getName())
+					.tag("exception", excecao)
+					.register(registry));
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.gupan.minhasfinancas.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	private final ObjectProvider<MeterRegistry> registry;
+
+	private final long limiteLentoMs;
+
+	public WebConfig(ObjectProvider<MeterRegistry> registry,
+			@Value("${minhasfinancas.requisicao-lenta.limite-ms:500}") long limiteLentoMs) {
+		this.registry = registry;
+		this.limiteLentoMs = limiteLentoMs;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry interceptors) {
+		registry.ifAvailable(meterRegistry -> interceptors
+				.addInterceptor(new MetricasInterceptor(meterRegistry, limiteLentoMs)).addPathPatterns("/api/**"));
+	}
+}
@@ -0,0 +1,15 @@
+package com.gupan.minhasfinancas.exception;
+
+public class IdempotenciaException extends RuntimeException {
+
+	private final boolean emAndamento;
+
+	public IdempotenciaException(String msg, boolean emAndamento) {
+		super(msg);
+		this.emAndamento = emAndamento;
+	}
+
+	public boolean isEmAndamento() {
+		return emAndamento;
+	}
+}
@@ -0,0 +1,8 @@
+package com.gupan.minhasfinancas.exception;
+
+public class ServicoIndisponivelException extends RuntimeException{
+
+	public ServicoIndisponivelException(String msg) {
+		super(msg);
+	}
+}
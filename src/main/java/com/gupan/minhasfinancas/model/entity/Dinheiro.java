@@ -0,0 +1,78 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Valor monetário em centavos. As operações lançam ArithmeticException em caso de estouro; a conversão para
+// BigDecimal fica nas bordas (DinheiroConverter no JPA, @JsonValue no Jackson).
+public final class Dinheiro implements Serializable, Comparable<Dinheiro> {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final Dinheiro ZERO = new Dinheiro(0);
+
+	private final long centavos;
+
+	private Dinheiro(long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(long centavos) {
+		return centavos == 0 ? ZERO : new Dinheiro(centavos);
+	}
+
+	@JsonCreator
+	public static Dinheiro de(BigDecimal valor) {
+		return deCentavos(centavos(valor));
+	}
+
+	// Arredonda como o numeric(16,2) do PostgreSQL.
+	public static long centavos(BigDecimal valor) {
+		return valor.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public Dinheiro somar(Dinheiro outro) {
+		return deCentavos(Math.addExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro subtrair(Dinheiro outro) {
+		return deCentavos(Math.subtractExact(centavos, outro.centavos));
+	}
+
+	public Dinheiro negar() {
+		return deCentavos(Math.negateExact(centavos));
+	}
+
+	@JsonValue
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(centavos, 2);
+	}
+
+	@Override
+	public int compareTo(Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(Object outro) {
+		return outro instanceof Dinheiro && ((Dinheiro) outro).centavos == centavos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public String toString() {
+		return toBigDecimal().toPlainString();
+	}
+}
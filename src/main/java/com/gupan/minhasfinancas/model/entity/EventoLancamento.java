@@ -0,0 +1,103 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Entity
+@Table(name = "evento_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_evento_lancamento_usuario_posicao", columnList = "id_usuario, posicao") })
+public class EventoLancamento {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_lancamento_id_seq")
+	@SequenceGenerator(name = "evento_lancamento_id_seq", sequenceName = "evento_lancamento_id_seq", schema = "financas", allocationSize = 50)
+	private Long id;
+
+	// Atribuída pelo publicador, na ordem em que os eventos são publicados; nula enquanto pendente.
+	@Column(name = "posicao")
+	private Long posicao;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "tipo_evento")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEvento tipoEvento;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+
+	@Column(name = "versao")
+	private Long versao;
+
+	@Column(name = "data_evento")
+	private LocalDateTime dataEvento;
+
+	public static EventoLancamento de(TipoEvento tipoEvento, Lancamento lancamento) {
+		return EventoLancamento.builder()
+				.idUsuario(lancamento.getUsuario().getId())
+				.idLancamento(lancamento.getId())
+				.tipoEvento(tipoEvento)
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.versao(lancamento.getVersao())
+				.dataEvento(LocalDateTime.now())
+				.build();
+	}
+}
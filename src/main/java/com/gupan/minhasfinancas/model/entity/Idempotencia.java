@@ -0,0 +1,55 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Entity
+@Table(name = "idempotencia", schema = "financas")
+public class Idempotencia {
+
+	@Id
+	@Column(name = "chave")
+	private String chave;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "assinatura")
+	private String assinatura;
+
+	// Nulo enquanto a requisição original ainda está em andamento.
+	@Column(name = "status")
+	private Integer status;
+
+	@Column(name = "etag")
+	private String etag;
+
+	@Column(name = "tipo_conteudo")
+	private String tipoConteudo;
+
+	@Column(name = "corpo", length = 4000)
+	private String corpo;
+
+	@Column(name = "expira_em")
+	private LocalDateTime expiraEm;
+}
@@ -8,12 +8,16 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
@@ -37,12 +41,14 @@ import lombok.ToString;
 @Builder
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes, id") })
 public class Lancamento {
 	
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_id_seq")
+	@SequenceGenerator(name = "lancamento_id_seq", sequenceName = "lancamento_id_seq", schema = "financas", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "descricao")
@@ -54,8 +60,10 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Usuario usuario;
 	
 	@Column(name = "valor")
@@ -72,9 +80,24 @@ public class Lancamento {
 	@Column(name = "status")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
 
 	public Lancamento(Long id) {
 		super();
 		this.id = id;
 	}
+
+	public Lancamento(Long id, Integer mes, Integer ano, Long idUsuario, BigDecimal valor, TipoLancamento tipo,
+			StatusLancamento status) {
+		this(id);
+		this.mes = mes;
+		this.ano = ano;
+		this.usuario = new Usuario(idUsuario);
+		this.valor = valor;
+		this.tipo = tipo;
+		this.status = status;
+	}
 }
@@ -0,0 +1,36 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Entity
+@Table(name = "publicacao_evento", schema = "financas")
+public class PublicacaoEvento {
+
+	public static final Integer ID = 1;
+
+	@Id
+	@Column(name = "id")
+	private Integer id;
+
+	@Column(name = "ultima_posicao")
+	private Long ultimaPosicao;
+}
@@ -0,0 +1,53 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Entity
+@Table(name = "resumo_mensal", schema = "financas")
+public class ResumoMensal {
+
+	@EmbeddedId
+	private ResumoMensalId id;
+
+	@Column(name = "quantidade")
+	private Long quantidade;
+
+	@Column(name = "total")
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro total;
+
+	// Usado pelas consultas "select new", em que sum(valor) é BigDecimal.
+	public ResumoMensal(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			Long quantidade, BigDecimal total) {
+		this(new ResumoMensalId(idUsuario, ano, mes, tipo, status), quantidade, Dinheiro.de(total));
+	}
+
+	public static ResumoMensal zerado(ResumoMensalId id) {
+		return new ResumoMensal(id, 0L, Dinheiro.ZERO);
+	}
+}
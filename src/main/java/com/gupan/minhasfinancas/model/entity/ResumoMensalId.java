@@ -0,0 +1,65 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Embeddable
+public class ResumoMensalId implements Serializable, Comparable<ResumoMensalId> {
+
+	private static final Comparator<ResumoMensalId> ORDEM = Comparator.comparing(ResumoMensalId::getIdUsuario)
+			.thenComparing(ResumoMensalId::getAno)
+			.thenComparing(ResumoMensalId::getMes)
+			.thenComparing(ResumoMensalId::getTipo)
+			.thenComparing(ResumoMensalId::getStatus);
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+
+	public static ResumoMensalId de(Lancamento lancamento) {
+		return new ResumoMensalId(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+				lancamento.getTipo(), lancamento.getStatus());
+	}
+
+	@Override
+	public int compareTo(ResumoMensalId outro) {
+		return ORDEM.compare(this, outro);
+	}
+}
@@ -0,0 +1,48 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Builder
+
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+public class SaldoUsuario {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "receitas")
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro receitas;
+
+	@Column(name = "despesas")
+	@Convert(converter = DinheiroConverter.class)
+	private Dinheiro despesas;
+
+	public static SaldoUsuario zerado(Long idUsuario) {
+		return new SaldoUsuario(idUsuario, Dinheiro.ZERO, Dinheiro.ZERO);
+	}
+
+	public Dinheiro getSaldo() {
+		return receitas.subtrair(despesas);
+	}
+}
@@ -6,8 +6,10 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,6 +29,7 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "usuario", schema = "financas")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Usuario {
 	
 	@Id
@@ -43,6 +46,11 @@ public class Usuario {
 	@Column(name = "senha")
 	@JsonIgnore
 	private String senha;
+	
+	@Version
+	@Column(name = "versao")
+	@JsonIgnore
+	private Long versao;
 
 	public Usuario(Long id) {
 		super();
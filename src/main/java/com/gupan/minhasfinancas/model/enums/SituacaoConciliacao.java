@@ -0,0 +1,8 @@
+package com.gupan.minhasfinancas.model.enums;
+
+public enum SituacaoConciliacao {
+
+	EM_ANDAMENTO,
+	CONCLUIDA,
+	FALHOU
+}
@@ -0,0 +1,27 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	@Query(value = " select e from EventoLancamento e where e.posicao is null order by e.id")
+	List<EventoLancamento> buscarPendentes(Pageable pagina);
+
+	@Query(value = " select e from EventoLancamento e "
+			+ "where e.idUsuario = :idUsuario and e.posicao > :cursor order by e.posicao")
+	List<EventoLancamento> buscarAlteracoes(@Param("idUsuario") Long idUsuario, @Param("cursor") Long cursor,
+			Pageable pagina);
+
+	@Modifying
+	@Query(value = "delete from EventoLancamento e where e.posicao is not null and e.dataEvento < :limite")
+	int removerPublicados(@Param("limite") LocalDateTime limite);
+}
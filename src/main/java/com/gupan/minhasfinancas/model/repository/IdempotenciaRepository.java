@@ -0,0 +1,49 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
+
+public interface IdempotenciaRepository extends JpaRepository<Idempotencia, String> {
+
+	// Instância não gerenciada: cada consulta lê o estado atual, mesmo com o open-in-view.
+	@Query(value = "select new com.gupan.minhasfinancas.model.entity.Idempotencia(i.chave, i.idUsuario, i.assinatura, "
+			+ "i.status, i.etag, i.tipoConteudo, i.corpo, i.expiraEm) from Idempotencia i where i.chave = :chave")
+	Optional<Idempotencia> consultar(@Param("chave") String chave);
+
+	@Transactional
+	@Modifying
+	@Query(value = "insert into financas.idempotencia (chave, id_usuario, assinatura, expira_em) "
+			+ "values (:chave, :idUsuario, :assinatura, :expiraEm)", nativeQuery = true)
+	int reservar(@Param("chave") String chave, @Param("idUsuario") Long idUsuario,
+			@Param("assinatura") String assinatura, @Param("expiraEm") LocalDateTime expiraEm);
+
+	@Transactional
+	@Modifying
+	@Query(value = "update Idempotencia i set i.status = :status, i.etag = :etag, i.tipoConteudo = :tipoConteudo, "
+			+ "i.corpo = :corpo where i.chave = :chave")
+	int concluir(@Param("chave") String chave, @Param("status") Integer status, @Param("etag") String etag,
+			@Param("tipoConteudo") String tipoConteudo, @Param("corpo") String corpo);
+
+	@Transactional
+	@Modifying
+	@Query(value = "delete from Idempotencia i where i.chave = :chave")
+	int liberar(@Param("chave") String chave);
+
+	@Transactional
+	@Modifying
+	@Query(value = "delete from Idempotencia i where i.chave = :chave and i.expiraEm < :agora")
+	int liberarSeExpirada(@Param("chave") String chave, @Param("agora") LocalDateTime agora);
+
+	@Transactional
+	@Modifying
+	@Query(value = "delete from Idempotencia i where i.expiraEm < :agora")
+	int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -1,18 +1,62 @@
 package com.gupan.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
 import com.gupan.minhasfinancas.model.enums.TipoLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento>,
+		LancamentoRepositoryCustom {
 
 	@Query(value = " select sum(l.valor) "
 			+ "from Lancamento l join l.usuario u "
 			+ "where u.id = :idUsuario and l.tipo = :tipo group by u")
 	BigDecimal obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo);
+
+	// Sem flush: lê só o que já está gravado, sem as alterações pendentes da transação atual.
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = " select l.tipo, sum(l.valor) "
+			+ "from Lancamento l "
+			+ "where l.usuario.id = :idUsuario group by l.tipo")
+	List<Object[]> obterTotaisPorTipo(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = " select min(l.ano * 100 + l.mes), max(l.ano * 100 + l.mes) "
+			+ "from Lancamento l "
+			+ "where l.usuario.id = :idUsuario")
+	List<Object[]> obterPeriodo(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = " select distinct l.usuario.id from Lancamento l")
+	List<Long> obterUsuariosComLancamentos();
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = " select new com.gupan.minhasfinancas.model.entity.Lancamento("
+			+ "l.id, l.mes, l.ano, l.usuario.id, l.valor, l.tipo, l.status) "
+			+ "from Lancamento l where l.id = :id")
+	Optional<Lancamento> obterEstadoGravado(@Param("id") Long id);
+
+	@Query(value = " select new com.gupan.minhasfinancas.model.entity.ResumoMensal("
+			+ "l.usuario.id, l.ano, l.mes, l.tipo, l.status, count(l), sum(l.valor)) "
+			+ "from Lancamento l "
+			+ "where l.usuario.id = :idUsuario and l.ano between :anoInicial and :anoFinal "
+			+ "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status "
+			+ "order by l.ano, l.mes, l.tipo, l.status")
+	List<ResumoMensal> calcularResumo(@Param("idUsuario") Long idUsuario, @Param("anoInicial") Integer anoInicial,
+			@Param("anoFinal") Integer anoFinal);
+
+	@Query(value = " select new com.gupan.minhasfinancas.model.entity.ResumoMensal("
+			+ "l.usuario.id, l.ano, l.mes, l.tipo, l.status, count(l), sum(l.valor)) "
+			+ "from Lancamento l "
+			+ "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+	List<ResumoMensal> calcularTodosOsResumos();
 }
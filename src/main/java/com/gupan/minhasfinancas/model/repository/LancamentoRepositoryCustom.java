@@ -0,0 +1,37 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	List<ItemLancamentoDTO> listar(Lancamento filtro);
+	
+	List<ItemLancamentoDTO> buscarPagina(Lancamento filtro, Lancamento ultimo, int tamanho);
+	
+	void percorrer(Lancamento filtro, Consumer<ItemLancamentoDTO> consumidor);
+	
+	void exportar(Lancamento filtro, YearMonth inicio, YearMonth fim, Consumer<Lancamento> consumidor);
+	
+	void inserirEmLote(List<Lancamento> lancamentos);
+	
+	List<ResumoMensal> resumirLote(Lancamento filtro, List<Long> ids);
+	
+	List<ItemLancamentoDTO> listarLote(Lancamento filtro, List<Long> ids);
+	
+	int atualizarStatusEmLote(Lancamento filtro, List<Long> ids, StatusLancamento status);
+	
+	void percorrerValores(long idUsuarioInicial, long idUsuarioFinal, ConsumidorValor consumidor);
+	
+	@FunctionalInterface
+	interface ConsumidorValor {
+		
+		void aceitar(long idUsuario, boolean receita, long centavos);
+	}
+}
@@ -0,0 +1,212 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	private static final int FETCH_SIZE = 500;
+
+	private static final int FETCH_SIZE_EXPORTACAO = 2000;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public LancamentoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemLancamentoDTO> listar(Lancamento filtro) {
+		return criarConsulta(LancamentoSpecification.filtrar(filtro)).getResultList();
+	}
+
+	@Override
+	public List<ItemLancamentoDTO> buscarPagina(Lancamento filtro, Lancamento ultimo, int tamanho) {
+		Specification<Lancamento> especificacao = LancamentoSpecification.filtrar(filtro);
+		if (ultimo != null) {
+			especificacao = especificacao.and(LancamentoSpecification.depoisDe(ultimo));
+		}
+		return criarConsulta(especificacao).setMaxResults(tamanho).getResultList();
+	}
+
+	@Override
+	public void percorrer(Lancamento filtro, Consumer<ItemLancamentoDTO> consumidor) {
+		TypedQuery<ItemLancamentoDTO> consulta = criarConsulta(LancamentoSpecification.filtrar(filtro))
+				.setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE);
+
+		try (Stream<ItemLancamentoDTO> lancamentos = consulta.getResultStream()) {
+			lancamentos.forEach(consumidor);
+		}
+	}
+
+	@Override
+	public void exportar(Lancamento filtro, YearMonth inicio, YearMonth fim, Consumer<Lancamento> consumidor) {
+		StringBuilder sql = new StringBuilder("select id, descricao, mes, ano, valor, tipo, status, data_cadastro "
+				+ "from financas.lancamento where id_usuario = ?");
+		List<Object> parametros = new ArrayList<>();
+		parametros.add(filtro.getUsuario().getId());
+		// ano repetido fora da comparação de linhas para o PostgreSQL descartar as partições fora do período
+		if (inicio != null) {
+			sql.append(" and ano >= ? and (ano, mes) >= (?, ?)");
+			parametros.add(inicio.getYear());
+			parametros.add(inicio.getYear());
+			parametros.add(inicio.getMonthValue());
+		}
+		if (fim != null) {
+			sql.append(" and ano <= ? and (ano, mes) <= (?, ?)");
+			parametros.add(fim.getYear());
+			parametros.add(fim.getYear());
+			parametros.add(fim.getMonthValue());
+		}
+		if (filtro.getTipo() != null) {
+			sql.append(" and tipo = ?");
+			parametros.add(filtro.getTipo().name());
+		}
+		if (filtro.getStatus() != null) {
+			sql.append(" and status = ?");
+			parametros.add(filtro.getStatus().name());
+		}
+		sql.append(" order by ano, mes, id");
+
+		jdbcTemplate.query(conexao -> {
+			PreparedStatement consulta = conexao.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			consulta.setFetchSize(FETCH_SIZE_EXPORTACAO);
+			for (int i = 0; i < parametros.size(); i++) {
+				consulta.setObject(i + 1, parametros.get(i));
+			}
+			return consulta;
+		}, (RowCallbackHandler) linha -> consumidor.accept(lerLinhaExportacao(linha)));
+	}
+
+	// Valor já em centavos e tipo como número, para não criar BigDecimal nem String por linha lida.
+	@Override
+	public void percorrerValores(long idUsuarioInicial, long idUsuarioFinal, ConsumidorValor consumidor) {
+		jdbcTemplate.query(conexao -> {
+			PreparedStatement consulta = conexao.prepareStatement("select id_usuario, "
+					+ "case when tipo = 'RECEITA' then 1 else 0 end, cast(valor * 100 as bigint) "
+					+ "from financas.lancamento where id_usuario >= ? and id_usuario < ?",
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			consulta.setFetchSize(FETCH_SIZE_EXPORTACAO);
+			consulta.setLong(1, idUsuarioInicial);
+			consulta.setLong(2, idUsuarioFinal);
+			return consulta;
+		}, (RowCallbackHandler) linha -> consumidor.aceitar(linha.getLong(1), linha.getInt(2) == 1, linha.getLong(3)));
+	}
+
+	@Override
+	public void inserirEmLote(List<Lancamento> lancamentos) {
+		lancamentos.forEach(entityManager::persist);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Override
+	public List<ResumoMensal> resumirLote(Lancamento filtro, List<Long> ids) {
+		Map<String, Object> parametros = new HashMap<>();
+		TypedQuery<ResumoMensal> consulta = entityManager.createQuery(" select new com.gupan.minhasfinancas.model.entity.ResumoMensal("
+				+ "l.usuario.id, l.ano, l.mes, l.tipo, l.status, count(l), sum(l.valor)) "
+				+ "from Lancamento l where " + condicaoDoLote(filtro, ids, parametros)
+				+ " group by l.usuario.id, l.ano, l.mes, l.tipo, l.status", ResumoMensal.class);
+		parametros.forEach(consulta::setParameter);
+		return consulta.getResultList();
+	}
+
+	@Override
+	public List<ItemLancamentoDTO> listarLote(Lancamento filtro, List<Long> ids) {
+		Map<String, Object> parametros = new HashMap<>();
+		TypedQuery<ItemLancamentoDTO> consulta = entityManager.createQuery(" select new com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO("
+				+ "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.dataCadastro, l.versao) "
+				+ "from Lancamento l where " + condicaoDoLote(filtro, ids, parametros), ItemLancamentoDTO.class);
+		parametros.forEach(consulta::setParameter);
+		return consulta.setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE).getResultList();
+	}
+
+	@Override
+	public int atualizarStatusEmLote(Lancamento filtro, List<Long> ids, StatusLancamento status) {
+		Map<String, Object> parametros = new HashMap<>();
+		Query atualizacao = entityManager.createQuery(" update Lancamento l set l.status = :novoStatus, l.versao = l.versao + 1 "
+				+ "where " + condicaoDoLote(filtro, ids, parametros));
+		parametros.forEach(atualizacao::setParameter);
+		atualizacao.setParameter("novoStatus", status);
+		return atualizacao.executeUpdate();
+	}
+
+	private String condicaoDoLote(Lancamento filtro, List<Long> ids, Map<String, Object> parametros) {
+		StringBuilder condicao = new StringBuilder("l.usuario.id = :idUsuario and l.status = :status");
+		parametros.put("idUsuario", filtro.getUsuario().getId());
+		parametros.put("status", filtro.getStatus());
+		if (ids != null && !ids.isEmpty()) {
+			condicao.append(" and l.id in :ids");
+			parametros.put("ids", ids);
+		}
+		if (filtro.getAno() != null) {
+			condicao.append(" and l.ano = :ano");
+			parametros.put("ano", filtro.getAno());
+		}
+		if (filtro.getMes() != null) {
+			condicao.append(" and l.mes = :mes");
+			parametros.put("mes", filtro.getMes());
+		}
+		return condicao.toString();
+	}
+
+	private Lancamento lerLinhaExportacao(ResultSet linha) throws SQLException {
+		return Lancamento.builder()
+				.id(linha.getLong("id"))
+				.descricao(linha.getString("descricao"))
+				.mes(linha.getInt("mes"))
+				.ano(linha.getInt("ano"))
+				.valor(linha.getBigDecimal("valor"))
+				.tipo(TipoLancamento.valueOf(linha.getString("tipo")))
+				.status(StatusLancamento.valueOf(linha.getString("status")))
+				.dataCadastro(linha.getObject("data_cadastro", LocalDate.class))
+				.build();
+	}
+
+	private TypedQuery<ItemLancamentoDTO> criarConsulta(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<ItemLancamentoDTO> query = cb.createQuery(ItemLancamentoDTO.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		query.select(cb.construct(ItemLancamentoDTO.class, root.get("id"), root.get("descricao"), root.get("mes"),
+				root.get("ano"), root.get("valor"), root.get("tipo"), root.get("status"), root.get("dataCadastro"),
+				root.get("versao")));
+		query.where(especificacao.toPredicate(root, query, cb));
+		query.orderBy(QueryUtils.toOrders(LancamentoSpecification.ORDENACAO, root, cb));
+		return entityManager.createQuery(query);
+	}
+}
@@ -0,0 +1,81 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+
+public final class LancamentoSpecification {
+
+	public static final Sort ORDENACAO = Sort.by("ano", "mes", "id");
+
+	private static final char ESCAPE = '\\';
+
+	private LancamentoSpecification() {
+	}
+
+	public static Specification<Lancamento> filtrar(Lancamento filtro) {
+		Specification<Lancamento> especificacao = Specification.where(null);
+
+		if (filtro.getUsuario() != null && filtro.getUsuario().getId() != null) {
+			especificacao = especificacao.and(doUsuario(filtro.getUsuario().getId()));
+		}
+		if (filtro.getAno() != null) {
+			especificacao = especificacao.and(doAno(filtro.getAno()));
+		}
+		if (filtro.getMes() != null) {
+			especificacao = especificacao.and(doMes(filtro.getMes()));
+		}
+		if (filtro.getTipo() != null) {
+			especificacao = especificacao.and(doTipo(filtro.getTipo()));
+		}
+		if (filtro.getStatus() != null) {
+			especificacao = especificacao.and(comStatus(filtro.getStatus()));
+		}
+		if (filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			especificacao = especificacao.and(comDescricao(filtro.getDescricao().trim()));
+		}
+		return especificacao;
+	}
+
+	public static Specification<Lancamento> doUsuario(Long idUsuario) {
+		return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), idUsuario);
+	}
+
+	public static Specification<Lancamento> doAno(Integer ano) {
+		return (root, query, cb) -> cb.equal(root.get("ano"), ano);
+	}
+
+	public static Specification<Lancamento> doMes(Integer mes) {
+		return (root, query, cb) -> cb.equal(root.get("mes"), mes);
+	}
+
+	public static Specification<Lancamento> doTipo(TipoLancamento tipo) {
+		return (root, query, cb) -> cb.equal(root.get("tipo"), tipo);
+	}
+
+	public static Specification<Lancamento> comStatus(StatusLancamento status) {
+		return (root, query, cb) -> cb.equal(root.get("status"), status);
+	}
+
+	public static Specification<Lancamento> comDescricao(String descricao) {
+		String padrao = "%" + escapar(descricao.toLowerCase()) + "%";
+		return (root, query, cb) -> cb.like(cb.lower(root.get("descricao")), padrao, ESCAPE);
+	}
+
+	public static Specification<Lancamento> depoisDe(Lancamento ultimo) {
+		return (root, query, cb) -> cb.or(
+				cb.greaterThan(root.get("ano"), ultimo.getAno()),
+				cb.and(cb.equal(root.get("ano"), ultimo.getAno()),
+						cb.greaterThan(root.get("mes"), ultimo.getMes())),
+				cb.and(cb.equal(root.get("ano"), ultimo.getAno()),
+						cb.equal(root.get("mes"), ultimo.getMes()),
+						cb.greaterThan(root.get("id"), ultimo.getId())));
+	}
+
+	private static String escapar(String valor) {
+		return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
@@ -0,0 +1,19 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gupan.minhasfinancas.model.entity.PublicacaoEvento;
+
+public interface PublicacaoEventoRepository extends JpaRepository<PublicacaoEvento, Integer> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select p from PublicacaoEvento p where p.id = :id")
+	Optional<PublicacaoEvento> obterParaAtualizacao(@Param("id") Integer id);
+}
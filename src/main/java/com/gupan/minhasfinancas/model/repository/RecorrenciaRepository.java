@@ -0,0 +1,27 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	@Query(value = " select r from Recorrencia r where r.usuario.id = :idUsuario order by r.id")
+	List<Recorrencia> buscarPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = " select r from Recorrencia r "
+			+ "where r.usuario.id = :idUsuario and r.proximoPeriodo is not null order by r.id")
+	List<Recorrencia> buscarEmAndamento(@Param("idUsuario") Long idUsuario);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = " select r from Recorrencia r where r.proximoPeriodo <= :limite order by r.proximoPeriodo, r.id")
+	List<Recorrencia> buscarPendentes(@Param("limite") Integer limite, Pageable pagina);
+}
@@ -0,0 +1,50 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.entity.ResumoMensalId;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select r from ResumoMensal r where r.id = :id")
+	Optional<ResumoMensal> obterParaAtualizacao(@Param("id") ResumoMensalId id);
+
+	@Query(value = " select r from ResumoMensal r "
+			+ "where r.id.idUsuario = :idUsuario and r.id.ano between :anoInicial and :anoFinal "
+			+ "order by r.id.ano, r.id.mes, r.id.tipo, r.id.status")
+	List<ResumoMensal> obterPorUsuario(@Param("idUsuario") Long idUsuario, @Param("anoInicial") Integer anoInicial,
+			@Param("anoFinal") Integer anoFinal);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = "select count(r) > 0 from ResumoMensal r where r.id.idUsuario = :idUsuario")
+	boolean possuiResumo(@Param("idUsuario") Long idUsuario);
+
+	// Sem flush: os lançamentos pendentes da transação atual chegam depois como variação. Em uma corrida,
+	// quem perder espera a outra transação e não insere nada.
+	@Modifying
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = "insert into financas.resumo_mensal (id_usuario, ano, mes, tipo, status, quantidade, total) "
+			+ "select id_usuario, ano, mes, tipo, status, count(*), coalesce(sum(valor), 0) "
+			+ "from financas.lancamento where id_usuario = :idUsuario "
+			+ "group by id_usuario, ano, mes, tipo, status on conflict do nothing", nativeQuery = true)
+	int inserirDosLancamentos(@Param("idUsuario") Long idUsuario);
+
+	// EXCLUSIVE espera as transações que já alteraram resumos e barra as próximas até o commit; leituras
+	// continuam livres.
+	@Modifying
+	@Query(value = "lock table financas.resumo_mensal in exclusive mode", nativeQuery = true)
+	void bloquearGravacoes();
+}
@@ -0,0 +1,39 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.gupan.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select s from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<SaldoUsuario> obterParaAtualizacao(@Param("idUsuario") Long idUsuario);
+
+	// Quem perder a corrida espera a outra transação terminar e não insere nada; sem flush, para não
+	// gravar antes os lançamentos pendentes da própria transação.
+	@Modifying
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = "insert into financas.saldo_usuario (id_usuario, receitas, despesas) "
+			+ "values (:idUsuario, :receitas, :despesas) on conflict do nothing", nativeQuery = true)
+	int inserirSeAusente(@Param("idUsuario") Long idUsuario, @Param("receitas") BigDecimal receitas,
+			@Param("despesas") BigDecimal despesas);
+
+	@Query(value = "select s.idUsuario from SaldoUsuario s")
+	List<Long> obterUsuarios();
+
+	@Query(value = "select s from SaldoUsuario s where s.idUsuario >= :idInicial and s.idUsuario < :idFinal")
+	List<SaldoUsuario> buscarFaixa(@Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal);
+}
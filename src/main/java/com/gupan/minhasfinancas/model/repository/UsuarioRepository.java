@@ -1,14 +1,39 @@
 package com.gupan.minhasfinancas.model.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.gupan.minhasfinancas.config.CacheConfig;
 import com.gupan.minhasfinancas.model.entity.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 
+	@Override
+	@Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#p0", unless = "#result == null")
+	Optional<Usuario> findById(Long id);
+
+	@Cacheable(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0", condition = "#p0 != null", unless = "#result == null")
 	Optional<Usuario> findByEmail(String email);
 	
 	boolean existsByEmail(String email);
+	
+	@Query(value = "select u.id from Usuario u where u.id in :ids")
+	List<Long> obterIdsExistentes(@Param("ids") Collection<Long> ids);
+
+	@Query(value = "select min(u.id), max(u.id) from Usuario u")
+	List<Object[]> obterFaixaIds();
+
+	@Transactional
+	@Modifying
+	@Query(value = "update Usuario u set u.senha = :novaSenha, u.versao = u.versao + 1 where u.id = :id and u.senha = :senhaAnterior")
+	int atualizarSenha(@Param("id") Long id, @Param("senhaAnterior") String senhaAnterior,
+			@Param("novaSenha") String novaSenha);
 }
@@ -0,0 +1,12 @@
+package com.gupan.minhasfinancas.service;
+
+import java.util.function.Supplier;
+
+public interface CacheConsultaService {
+
+	<T> T obter(String cache, Long idUsuario, String chave, Supplier<T> consulta);
+	
+	void invalidar(Long idUsuario);
+	
+	void invalidarTodos();
+}
@@ -0,0 +1,12 @@
+package com.gupan.minhasfinancas.service;
+
+import java.util.Optional;
+
+import com.gupan.minhasfinancas.api.dto.ConciliacaoSaldoDTO;
+
+public interface ConciliacaoSaldoService {
+
+	ConciliacaoSaldoDTO iniciar();
+	
+	Optional<ConciliacaoSaldoDTO> obterAndamento();
+}
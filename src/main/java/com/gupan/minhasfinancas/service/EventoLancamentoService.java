@@ -0,0 +1,21 @@
+package com.gupan.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+
+public interface EventoLancamentoService {
+
+	void registrar(TipoEvento tipoEvento, Lancamento lancamento);
+	
+	void registrarTodos(TipoEvento tipoEvento, List<Lancamento> lancamentos);
+	
+	List<EventoLancamento> buscarAlteracoes(Long idUsuario, Long cursor, int tamanho);
+	
+	int publicar(int tamanhoLote);
+	
+	int removerPublicados(LocalDateTime limite);
+}
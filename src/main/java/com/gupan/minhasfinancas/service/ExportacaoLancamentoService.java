@@ -0,0 +1,14 @@
+package com.gupan.minhasfinancas.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+
+public interface ExportacaoLancamentoService {
+
+	void exportarCsv(Lancamento filtro, YearMonth inicio, YearMonth fim, OutputStream saida) throws IOException;
+
+	void exportarOfx(Lancamento filtro, YearMonth inicio, YearMonth fim, OutputStream saida) throws IOException;
+}
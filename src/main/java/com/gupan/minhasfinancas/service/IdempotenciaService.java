@@ -0,0 +1,10 @@
+package com.gupan.minhasfinancas.service;
+
+import java.util.function.Supplier;
+
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
+
+public interface IdempotenciaService {
+
+	Idempotencia executar(Long idUsuario, String chave, String assinatura, Supplier<Idempotencia> operacao);
+}
@@ -0,0 +1,14 @@
+package com.gupan.minhasfinancas.service;
+
+import java.io.InputStream;
+import java.util.List;
+
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+
+public interface ImportacaoLancamentoService {
+
+	ResultadoImportacaoDTO importar(Long idUsuario, List<LancamentoDTO> lancamentos);
+	
+	ResultadoImportacaoDTO importarCsv(Long idUsuario, InputStream csv);
+}
@@ -0,0 +1,10 @@
+package com.gupan.minhasfinancas.service;
+
+import com.gupan.minhasfinancas.model.entity.Usuario;
+
+public interface JwtService {
+
+	String gerarToken(Usuario usuario);
+
+	Long obterIdUsuario(String token);
+}
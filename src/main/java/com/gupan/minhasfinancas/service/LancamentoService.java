@@ -3,7 +3,9 @@ package com.gupan.minhasfinancas.service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
 import com.gupan.minhasfinancas.model.entity.Lancamento;
 import com.gupan.minhasfinancas.model.enums.StatusLancamento;
 
@@ -15,10 +17,16 @@ public interface LancamentoService {
 	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	List<ItemLancamentoDTO> buscar(Lancamento lancamentoFiltro);
+	
+	List<ItemLancamentoDTO> buscar(Lancamento lancamentoFiltro, Lancamento ultimo, int tamanho);
+	
+	void percorrer(Lancamento lancamentoFiltro, Consumer<ItemLancamentoDTO> consumidor);
 	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
+	int atualizarStatusEmLote(Lancamento lancamentoFiltro, List<Long> ids, StatusLancamento status);
+	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
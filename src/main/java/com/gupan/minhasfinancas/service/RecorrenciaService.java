@@ -0,0 +1,26 @@
+package com.gupan.minhasfinancas.service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaService {
+
+	Recorrencia salvar(Recorrencia recorrencia);
+	
+	void deletar(Recorrencia recorrencia);
+	
+	List<Recorrencia> buscar(Long idUsuario);
+	
+	Optional<Recorrencia> obterPorId(Long id);
+	
+	void validar(Recorrencia recorrencia);
+	
+	int materializar(YearMonth ate, int tamanhoLote);
+	
+	List<ItemLancamentoDTO> projetar(Lancamento lancamentoFiltro);
+}
@@ -0,0 +1,22 @@
+package com.gupan.minhasfinancas.service;
+
+import java.util.List;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+
+public interface ResumoMensalService {
+
+	void registrar(Lancamento lancamento);
+	
+	void registrarTodos(List<Lancamento> lancamentos);
+	
+	void estornar(Lancamento lancamento);
+	
+	void transferir(List<ResumoMensal> resumos, StatusLancamento status);
+	
+	List<ResumoMensal> obterResumo(Long idUsuario, Integer anoInicial, Integer anoFinal);
+	
+	void recalcular();
+}
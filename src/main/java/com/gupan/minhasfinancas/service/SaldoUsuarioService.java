@@ -0,0 +1,19 @@
+package com.gupan.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+
+public interface SaldoUsuarioService {
+
+	void registrar(Lancamento lancamento);
+	
+	void registrarTodos(List<Lancamento> lancamentos);
+	
+	void estornar(Lancamento lancamento);
+	
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	void recalcular();
+}
@@ -0,0 +1,10 @@
+package com.gupan.minhasfinancas.service;
+
+public interface SenhaService {
+
+	String codificar(String senha);
+
+	boolean confere(String senha, String senhaGravada);
+
+	boolean precisaAtualizar(String senhaGravada);
+}
@@ -1,6 +1,8 @@
 package com.gupan.minhasfinancas.service;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 import com.gupan.minhasfinancas.model.entity.Usuario;
 
@@ -13,4 +15,8 @@ public interface UsuarioService {
 	void validarEmail(String email);
 	
 	Optional<Usuario> obterPorId(Long id);
+	
+	Usuario obterReferencia(Long id);
+	
+	Set<Long> filtrarExistentes(Collection<Long> ids);
 }
@@ -0,0 +1,207 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gupan.minhasfinancas.config.CacheCompartilhado;
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.config.LeituraPropria;
+import com.gupan.minhasfinancas.service.CacheConsultaService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CacheConsultaServiceImpl implements CacheConsultaService {
+
+	public static final String METRICA = "minhasfinancas.cache.consultas";
+
+	public static final String LOCAL = "local";
+
+	public static final String COMPARTILHADO = "compartilhado";
+
+	public static final String BANCO = "banco";
+
+	private static final String[] CACHES = { CacheConfig.SALDOS, CacheConfig.LANCAMENTOS };
+
+	private final CacheManager cacheManager;
+
+	private final Optional<CacheCompartilhado> cacheCompartilhado;
+
+	private final Optional<LeituraPropria> leituraPropria;
+
+	private final MeterRegistry registry;
+
+	public CacheConsultaServiceImpl(CacheManager cacheManager, Optional<CacheCompartilhado> cacheCompartilhado,
+			Optional<LeituraPropria> leituraPropria, MeterRegistry registry) {
+		this.cacheManager = cacheManager;
+		this.cacheCompartilhado = cacheCompartilhado;
+		this.leituraPropria = leituraPropria;
+		this.registry = registry;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T obter(String cache, Long idUsuario, String chave, Supplier<T> consulta) {
+		String geracao = obterGeracao(idUsuario);
+		if (geracao == null) {
+			contar(cache, BANCO);
+			return consulta.get();
+		}
+
+		String chaveCompleta = idUsuario + ":" + geracao + ":" + chave;
+		Cache local = cacheManager.getCache(cache);
+		ValueWrapper valor = local.get(chaveCompleta);
+		if (valor != null) {
+			contar(cache, LOCAL);
+			return (T) valor.get();
+		}
+
+		Cache compartilhado = cacheCompartilhado.map(c -> c.obter(cache)).orElse(null);
+		if (compartilhado != null) {
+			valor = executar(() -> compartilhado.get(chaveCompleta));
+			if (valor != null) {
+				local.put(chaveCompleta, valor.get());
+				contar(cache, COMPARTILHADO);
+				return (T) valor.get();
+			}
+		}
+
+		T resultado = consultar(geracao, consulta);
+		contar(cache, BANCO);
+		if (resultado != null) {
+			local.put(chaveCompleta, resultado);
+			if (compartilhado != null) {
+				executar(() -> {
+					compartilhado.put(chaveCompleta, resultado);
+					return null;
+				});
+			}
+		}
+		return resultado;
+	}
+
+	@Override
+	public void invalidar(Long idUsuario) {
+		depoisDoCommit(() -> {
+			executar(() -> {
+				geracoes().put(idUsuario, novaGeracao());
+				return null;
+			});
+			leituraPropria.ifPresent(leitura -> leitura.registrarEscrita(idUsuario));
+			String prefixo = idUsuario + ":";
+			for (String cache : CACHES) {
+				remover(cacheManager.getCache(cache), chave -> chave.toString().startsWith(prefixo));
+			}
+		});
+	}
+
+	@Override
+	public void invalidarTodos() {
+		depoisDoCommit(() -> {
+			cacheCompartilhado.ifPresent(compartilhado -> executar(() -> {
+				compartilhado.obter(CacheConfig.GERACOES_CONSULTA).clear();
+				for (String cache : CACHES) {
+					compartilhado.obter(cache).clear();
+				}
+				return null;
+			}));
+			cacheManager.getCache(CacheConfig.GERACOES_CONSULTA).clear();
+			for (String cache : CACHES) {
+				cacheManager.getCache(cache).clear();
+			}
+		});
+	}
+
+	private String obterGeracao(Long idUsuario) {
+		return executar(() -> {
+			Cache geracoes = geracoes();
+			ValueWrapper atual = geracoes.get(idUsuario);
+			if (atual != null) {
+				return (String) atual.get();
+			}
+			String nova = novaGeracao();
+			atual = geracoes.putIfAbsent(idUsuario, nova);
+			return atual == null ? nova : (String) atual.get();
+		});
+	}
+
+	private Cache geracoes() {
+		return cacheCompartilhado.map(c -> c.obter(CacheConfig.GERACOES_CONSULTA))
+				.orElseGet(() -> cacheManager.getCache(CacheConfig.GERACOES_CONSULTA));
+	}
+
+	private String novaGeracao() {
+		return UUID.randomUUID() + "@" + System.currentTimeMillis();
+	}
+
+	// Geração recente indica escrita recente do usuário (em qualquer instância): a réplica pode não tê-la ainda.
+	private <T> T consultar(String geracao, Supplier<T> consulta) {
+		if (leituraPropria.isPresent() && criadaHaMenosDe(geracao, leituraPropria.get().getJanelaMs())) {
+			return leituraPropria.get().noPrimario(consulta);
+		}
+		return consulta.get();
+	}
+
+	private boolean criadaHaMenosDe(String geracao, long janelaMs) {
+		int separador = geracao.lastIndexOf('@');
+		if (separador < 0) {
+			return true;
+		}
+		try {
+			return System.currentTimeMillis() - Long.parseLong(geracao.substring(separador + 1)) < janelaMs;
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void remover(Cache cache, Predicate<Object> chaves) {
+		Object nativo = cache.getNativeCache();
+		if (nativo instanceof com.github.benmanes.caffeine.cache.Cache) {
+			((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativo).asMap().keySet().removeIf(chaves);
+		} else if (nativo instanceof Map) {
+			((Map<Object, Object>) nativo).keySet().removeIf(chaves);
+		} else {
+			cache.clear();
+		}
+	}
+
+	private <T> T executar(Supplier<T> operacao) {
+		try {
+			return operacao.get();
+		} catch (RuntimeException e) {
+			log.warn("Cache de consultas indisponível, consultando o banco: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private void depoisDoCommit(Runnable acao) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					acao.run();
+				}
+			});
+		} else {
+			acao.run();
+		}
+	}
+
+	private void contar(String cache, String origem) {
+		Counter.builder(METRICA).tag("cache", cache).tag("origem", origem).register(registry).increment();
+	}
+}
@@ -0,0 +1,294 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gupan.minhasfinancas.api.dto.ConciliacaoSaldoDTO;
+import com.gupan.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.SaldoUsuario;
+import com.gupan.minhasfinancas.model.enums.SituacaoConciliacao;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.gupan.minhasfinancas.model.repository.UsuarioRepository;
+import com.gupan.minhasfinancas.service.ConciliacaoSaldoService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Recalcula os saldos por faixas de id de usuário em um ForkJoinPool: cada faixa é lida em uma transação própria
+// (uma conexão, mesmo snapshot para lançamentos e saldos) e totalizada em vetores de centavos indexados pelo id.
+@Slf4j
+@Service
+public class ConciliacaoSaldoServiceImpl implements ConciliacaoSaldoService {
+
+	public static final String METRICA = "minhasfinancas.conciliacao";
+
+	private static final int MAXIMO_DIVERGENCIAS = 1000;
+
+	private final LancamentoRepository lancamentoRepository;
+
+	private final SaldoUsuarioRepository saldoRepository;
+
+	private final UsuarioRepository usuarioRepository;
+
+	private final TransactionTemplate transacao;
+
+	private final int tamanhoFaixa;
+
+	private final TaskExecutor execucao;
+
+	private final ForkJoinPool pool;
+
+	private final AtomicBoolean emAndamento = new AtomicBoolean();
+
+	private final AtomicLong lancamentosLidos = new AtomicLong();
+
+	private volatile Andamento atual;
+
+	public ConciliacaoSaldoServiceImpl(LancamentoRepository lancamentoRepository,
+			SaldoUsuarioRepository saldoRepository, UsuarioRepository usuarioRepository,
+			PlatformTransactionManager transactionManager, MeterRegistry registry,
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor execucao,
+			@Value("${minhasfinancas.conciliacao.paralelismo:4}") int paralelismo,
+			@Value("${minhasfinancas.conciliacao.tamanho-faixa:10000}") int tamanhoFaixa) {
+		this.lancamentoRepository = lancamentoRepository;
+		this.saldoRepository = saldoRepository;
+		this.usuarioRepository = usuarioRepository;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.transacao.setReadOnly(true);
+		this.transacao.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		this.tamanhoFaixa = tamanhoFaixa;
+		this.execucao = execucao;
+		// Um só pool para todas as execuções; as threads do ForkJoinPool são daemon e encerradas quando ociosas.
+		this.pool = new ForkJoinPool(paralelismo);
+
+		FunctionCounter.builder(METRICA + ".lancamentos", lancamentosLidos, AtomicLong::get).register(registry);
+		Gauge.builder(METRICA + ".progresso", this, servico -> servico.atual == null ? 0 : servico.atual.progresso())
+				.register(registry);
+		Gauge.builder(METRICA + ".divergencias", this,
+				servico -> servico.atual == null ? 0 : servico.atual.quantidadeDivergencias.get()).register(registry);
+	}
+
+	@Override
+	public ConciliacaoSaldoDTO iniciar() {
+		Andamento andamento = comecar();
+		try {
+			execucao.execute(() -> executar(andamento));
+		} catch (RuntimeException e) {
+			andamento.erro = e.getMessage();
+			andamento.situacao = SituacaoConciliacao.FALHOU;
+			emAndamento.set(false);
+			throw e;
+		}
+		return andamento.converter();
+	}
+
+	@Override
+	public Optional<ConciliacaoSaldoDTO> obterAndamento() {
+		return Optional.ofNullable(atual).map(Andamento::converter);
+	}
+
+	private Andamento comecar() {
+		if (!emAndamento.compareAndSet(false, true)) {
+			throw new RegraNegocioException("Já existe uma conciliação de saldos em andamento.");
+		}
+		try {
+			List<Object[]> faixa = usuarioRepository.obterFaixaIds();
+			Object[] linha = faixa.isEmpty() ? null : faixa.get(0);
+			long idInicial = linha == null || linha[0] == null ? 0 : ((Number) linha[0]).longValue();
+			long idFinal = linha == null || linha[1] == null ? 0 : ((Number) linha[1]).longValue() + 1;
+			atual = new Andamento(idInicial, idFinal);
+			return atual;
+		} catch (RuntimeException e) {
+			emAndamento.set(false);
+			throw e;
+		}
+	}
+
+	private void executar(Andamento andamento) {
+		try {
+			pool.invoke(new Faixa(andamento, andamento.idInicial, andamento.faixas));
+			andamento.situacao = SituacaoConciliacao.CONCLUIDA;
+			log.info("Conciliação de saldos concluída: {} usuários, {} divergências.",
+					andamento.usuariosVerificados.get(), andamento.quantidadeDivergencias.get());
+		} catch (RuntimeException e) {
+			andamento.erro = e.getMessage();
+			andamento.situacao = SituacaoConciliacao.FALHOU;
+			log.error("Falha na conciliação de saldos.", e);
+		} finally {
+			andamento.fim = LocalDateTime.now();
+			andamento.duracaoMs = andamento.decorridoMs();
+			emAndamento.set(false);
+		}
+	}
+
+	private void conciliarFaixa(Andamento andamento, long idInicial, long idFinal) {
+		int tamanho = (int) (idFinal - idInicial);
+		long[] receitas = new long[tamanho];
+		long[] despesas = new long[tamanho];
+		int[] quantidades = new int[tamanho];
+
+		List<SaldoUsuario> armazenados = transacao.execute(status -> {
+			lancamentoRepository.percorrerValores(idInicial, idFinal, (idUsuario, receita, centavos) -> {
+				int i = (int) (idUsuario - idInicial);
+				if (receita) {
+					receitas[i] = Math.addExact(receitas[i], centavos);
+				} else {
+					despesas[i] = Math.addExact(despesas[i], centavos);
+				}
+				quantidades[i]++;
+			});
+			return saldoRepository.buscarFaixa(idInicial, idFinal);
+		});
+
+		long lidos = 0;
+		long usuarios = 0;
+		for (int quantidade : quantidades) {
+			lidos += quantidade;
+			usuarios += quantidade > 0 ? 1 : 0;
+		}
+		for (SaldoUsuario saldo : armazenados) {
+			int i = (int) (saldo.getIdUsuario() - idInicial);
+			if (quantidades[i] == 0) {
+				usuarios++;
+			}
+			if (saldo.getReceitas().getCentavos() != receitas[i] || saldo.getDespesas().getCentavos() != despesas[i]) {
+				andamento.divergir(saldo.getIdUsuario(), saldo.getSaldo(), receitas[i] - despesas[i]);
+			}
+			quantidades[i] = -1;
+		}
+		for (int i = 0; i < tamanho; i++) {
+			if (quantidades[i] > 0) {
+				andamento.divergir(idInicial + i, null, receitas[i] - despesas[i]);
+			}
+		}
+
+		lancamentosLidos.addAndGet(lidos);
+		andamento.lancamentosLidos.addAndGet(lidos);
+		andamento.usuariosVerificados.addAndGet(usuarios);
+		andamento.faixasConcluidas.incrementAndGet();
+	}
+
+	private final class Faixa extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Andamento andamento;
+
+		private final long idInicial;
+
+		private final int faixas;
+
+		Faixa(Andamento andamento, long idInicial, int faixas) {
+			this.andamento = andamento;
+			this.idInicial = idInicial;
+			this.faixas = faixas;
+		}
+
+		@Override
+		protected void compute() {
+			if (faixas == 0) {
+				return;
+			}
+			if (faixas == 1) {
+				conciliarFaixa(andamento, idInicial, Math.min(idInicial + tamanhoFaixa, andamento.idFinal));
+				return;
+			}
+			int metade = faixas / 2;
+			invokeAll(new Faixa(andamento, idInicial, metade),
+					new Faixa(andamento, idInicial + (long) metade * tamanhoFaixa, faixas - metade));
+		}
+	}
+
+	private final class Andamento {
+
+		final long idInicial;
+
+		final long idFinal;
+
+		final int faixas;
+
+		final LocalDateTime inicio = LocalDateTime.now();
+
+		final long inicioNanos = System.nanoTime();
+
+		final AtomicInteger faixasConcluidas = new AtomicInteger();
+
+		final AtomicLong usuariosVerificados = new AtomicLong();
+
+		final AtomicLong lancamentosLidos = new AtomicLong();
+
+		final AtomicLong quantidadeDivergencias = new AtomicLong();
+
+		final ConcurrentLinkedQueue<DivergenciaSaldoDTO> divergencias = new ConcurrentLinkedQueue<>();
+
+		volatile SituacaoConciliacao situacao = SituacaoConciliacao.EM_ANDAMENTO;
+
+		volatile LocalDateTime fim;
+
+		volatile Long duracaoMs;
+
+		volatile String erro;
+
+		Andamento(long idInicial, long idFinal) {
+			this.idInicial = idInicial;
+			this.idFinal = idFinal;
+			this.faixas = (int) ((idFinal - idInicial + tamanhoFaixa - 1) / tamanhoFaixa);
+		}
+
+		void divergir(long idUsuario, Dinheiro armazenado, long calculado) {
+			if (quantidadeDivergencias.incrementAndGet() <= MAXIMO_DIVERGENCIAS) {
+				divergencias.add(new DivergenciaSaldoDTO(idUsuario, armazenado, Dinheiro.deCentavos(calculado)));
+			}
+		}
+
+		double progresso() {
+			return faixas == 0 ? 1 : (double) faixasConcluidas.get() / faixas;
+		}
+
+		long decorridoMs() {
+			return (System.nanoTime() - inicioNanos) / 1000000;
+		}
+
+		ConciliacaoSaldoDTO converter() {
+			long duracao = duracaoMs != null ? duracaoMs : decorridoMs();
+			List<DivergenciaSaldoDTO> lista = new ArrayList<>(divergencias);
+			lista.sort((a, b) -> Long.compare(a.getIdUsuario(), b.getIdUsuario()));
+			return ConciliacaoSaldoDTO.builder()
+					.situacao(situacao.name())
+					.inicio(inicio)
+					.fim(fim)
+					.faixas(faixas)
+					.faixasConcluidas(faixasConcluidas.get())
+					.usuariosVerificados(usuariosVerificados.get())
+					.lancamentosLidos(lancamentosLidos.get())
+					.duracaoMs(duracao)
+					.lancamentosPorSegundo(duracao == 0 ? lancamentosLidos.get() : lancamentosLidos.get() * 1000 / duracao)
+					.quantidadeDivergencias(quantidadeDivergencias.get())
+					.divergencias(lista)
+					.erro(erro)
+					.build();
+		}
+	}
+}
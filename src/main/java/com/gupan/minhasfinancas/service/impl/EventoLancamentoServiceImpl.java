@@ -0,0 +1,85 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+import com.gupan.minhasfinancas.config.DestinoEventos;
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.PublicacaoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.PublicacaoEventoRepository;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+
+@Service
+public class EventoLancamentoServiceImpl implements EventoLancamentoService {
+
+	private final EventoLancamentoRepository repository;
+
+	private final PublicacaoEventoRepository publicacaoRepository;
+
+	private final Optional<DestinoEventos> destino;
+
+	public EventoLancamentoServiceImpl(EventoLancamentoRepository repository,
+			PublicacaoEventoRepository publicacaoRepository, Optional<DestinoEventos> destino) {
+		this.repository = repository;
+		this.publicacaoRepository = publicacaoRepository;
+		this.destino = destino;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(TipoEvento tipoEvento, Lancamento lancamento) {
+		// Aplica as alterações pendentes para o evento levar a versão já incrementada do lançamento.
+		repository.flush();
+		repository.save(EventoLancamento.de(tipoEvento, lancamento));
+	}
+
+	@Override
+	@Transactional
+	public void registrarTodos(TipoEvento tipoEvento, List<Lancamento> lancamentos) {
+		repository.saveAll(lancamentos.stream().map(lancamento -> EventoLancamento.de(tipoEvento, lancamento))
+				.collect(Collectors.toList()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<EventoLancamento> buscarAlteracoes(Long idUsuario, Long cursor, int tamanho) {
+		return repository.buscarAlteracoes(idUsuario, cursor, PageRequest.of(0, tamanho));
+	}
+
+	// As posições são atribuídas com a linha de controle bloqueada: uma transação que gravou um evento com id menor
+	// e confirmou depois recebe uma posição maior, e nenhum consumidor que já passou daquele cursor o perde.
+	@Override
+	@Transactional
+	public int publicar(int tamanhoLote) {
+		PublicacaoEvento publicacao = publicacaoRepository.obterParaAtualizacao(PublicacaoEvento.ID)
+				.orElseGet(() -> publicacaoRepository.save(new PublicacaoEvento(PublicacaoEvento.ID, 0L)));
+		List<EventoLancamento> pendentes = repository.buscarPendentes(PageRequest.of(0, tamanhoLote));
+		if (pendentes.isEmpty()) {
+			return 0;
+		}
+
+		long posicao = publicacao.getUltimaPosicao();
+		for (EventoLancamento evento : pendentes) {
+			evento.setPosicao(++posicao);
+		}
+		publicacao.setUltimaPosicao(posicao);
+		destino.ifPresent(d -> d.publicar(pendentes.stream().map(EventoLancamentoDTO::de).collect(Collectors.toList())));
+		return pendentes.size();
+	}
+
+	@Override
+	@Transactional
+	public int removerPublicados(LocalDateTime limite) {
+		return repository.removerPublicados(limite);
+	}
+}
@@ -0,0 +1,174 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.ExportacaoLancamentoService;
+
+@Service
+public class ExportacaoLancamentoServiceImpl implements ExportacaoLancamentoService {
+
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	private static final char SEPARADOR = ';';
+
+	private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private LancamentoRepository repository;
+
+	public ExportacaoLancamentoServiceImpl(LancamentoRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportarCsv(Lancamento filtro, YearMonth inicio, YearMonth fim, OutputStream saida)
+			throws IOException {
+		Writer escritor = criarEscritor(saida);
+		escritor.write("id;descricao;mes;ano;valor;tipo;status;data_cadastro\n");
+		exportar(filtro, inicio, fim, lancamento -> {
+			escritor.write(lancamento.getId().toString());
+			escritor.write(SEPARADOR);
+			escritor.write(escaparCsv(lancamento.getDescricao()));
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getMes().toString());
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getAno().toString());
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString().replace('.', ','));
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getTipo().name());
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getStatus().name());
+			escritor.write(SEPARADOR);
+			escritor.write(lancamento.getDataCadastro() == null ? "" : lancamento.getDataCadastro().toString());
+			escritor.write('\n');
+		});
+		escritor.flush();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportarOfx(Lancamento filtro, YearMonth inicio, YearMonth fim, OutputStream saida)
+			throws IOException {
+		YearMonth[] periodo = obterPeriodo(filtro.getUsuario().getId(), inicio, fim);
+		String hoje = LocalDate.now().format(DATA_OFX);
+		String dataFinal = periodo[1].atEndOfMonth().format(DATA_OFX);
+		long[] saldo = { 0 };
+
+		Writer escritor = criarEscritor(saida);
+		escritor.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+		escritor.write("<?OFX OFXHEADER=\"200\" VERSION=\"220\" SECURITY=\"NONE\" OLDFILEUID=\"NONE\" NEWFILEUID=\"NONE\"?>\n");
+		escritor.write("<OFX>\n<SIGNONMSGSRSV1><SONRS><STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>"
+				+ "<DTSERVER>" + hoje + "</DTSERVER><LANGUAGE>POR</LANGUAGE></SONRS></SIGNONMSGSRSV1>\n");
+		escritor.write("<BANKMSGSRSV1><STMTTRNRS><TRNUID>0</TRNUID>"
+				+ "<STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>\n<STMTRS><CURDEF>BRL</CURDEF>"
+				+ "<BANKACCTFROM><BANKID>0</BANKID><ACCTID>" + filtro.getUsuario().getId()
+				+ "</ACCTID><ACCTTYPE>CHECKING</ACCTTYPE></BANKACCTFROM>\n");
+		escritor.write("<BANKTRANLIST><DTSTART>" + periodo[0].atDay(1).format(DATA_OFX) + "</DTSTART><DTEND>"
+				+ dataFinal + "</DTEND>\n");
+		exportar(filtro, inicio, fim, lancamento -> {
+			BigDecimal valor = lancamento.getValor() == null ? BigDecimal.ZERO : lancamento.getValor();
+			boolean despesa = lancamento.getTipo() == TipoLancamento.DESPESA;
+			if (despesa) {
+				valor = valor.negate();
+			}
+			saldo[0] = Math.addExact(saldo[0], Dinheiro.centavos(valor));
+
+			escritor.write("<STMTTRN><TRNTYPE>");
+			escritor.write(despesa ? "DEBIT" : "CREDIT");
+			escritor.write("</TRNTYPE><DTPOSTED>");
+			escritor.write(YearMonth.of(lancamento.getAno(), lancamento.getMes()).atDay(1).format(DATA_OFX));
+			escritor.write("</DTPOSTED><TRNAMT>");
+			escritor.write(valor.toPlainString());
+			escritor.write("</TRNAMT><FITID>");
+			escritor.write(lancamento.getId().toString());
+			escritor.write("</FITID><MEMO>");
+			escritor.write(escaparXml(lancamento.getDescricao()));
+			escritor.write("</MEMO></STMTTRN>\n");
+		});
+		escritor.write("</BANKTRANLIST>\n<LEDGERBAL><BALAMT>" + Dinheiro.deCentavos(saldo[0]) + "</BALAMT><DTASOF>"
+				+ dataFinal + "</DTASOF></LEDGERBAL>\n");
+		escritor.write("</STMTRS></STMTTRNRS></BANKMSGSRSV1>\n</OFX>\n");
+		escritor.flush();
+	}
+
+	private YearMonth[] obterPeriodo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+		if (inicio != null && fim != null) {
+			return new YearMonth[] { inicio, fim };
+		}
+		List<Object[]> periodo = repository.obterPeriodo(idUsuario);
+		Object[] linha = periodo.isEmpty() ? new Object[2] : periodo.get(0);
+		YearMonth atual = YearMonth.now();
+		return new YearMonth[] {
+				inicio != null ? inicio : competencia(linha[0], atual),
+				fim != null ? fim : competencia(linha[1], atual) };
+	}
+
+	private YearMonth competencia(Object anoMes, YearMonth padrao) {
+		if (anoMes == null) {
+			return padrao;
+		}
+		int valor = ((Number) anoMes).intValue();
+		return YearMonth.of(valor / 100, valor % 100);
+	}
+
+	private void exportar(Lancamento filtro, YearMonth inicio, YearMonth fim, EscritorLancamento escritor)
+			throws IOException {
+		try {
+			repository.exportar(filtro, inicio, fim, lancamento -> {
+				try {
+					escritor.escrever(lancamento);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private Writer criarEscritor(OutputStream saida) {
+		return new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+	}
+
+	private String escaparCsv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.indexOf(SEPARADOR) < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+				&& valor.indexOf('\r') < 0) {
+			return valor;
+		}
+		return '"' + valor.replace("\"", "\"\"") + '"';
+	}
+
+	private String escaparXml(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		return valor.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+	}
+
+	private interface EscritorLancamento {
+
+		void escrever(Lancamento lancamento) throws IOException;
+	}
+}
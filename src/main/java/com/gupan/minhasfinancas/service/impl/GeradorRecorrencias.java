@@ -0,0 +1,46 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gupan.minhasfinancas.service.RecorrenciaService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Gera os lançamentos das recorrências até o mês atual (mais a antecedência), em lotes de recorrências por transação.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.recorrencias.gerar", havingValue = "true", matchIfMissing = true)
+public class GeradorRecorrencias {
+
+	private final RecorrenciaService recorrenciaService;
+
+	private final int tamanhoLote;
+
+	private final long antecedenciaMeses;
+
+	public GeradorRecorrencias(RecorrenciaService recorrenciaService,
+			@Value("${minhasfinancas.recorrencias.lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.recorrencias.antecedencia-meses:0}") long antecedenciaMeses) {
+		this.recorrenciaService = recorrenciaService;
+		this.tamanhoLote = tamanhoLote;
+		this.antecedenciaMeses = antecedenciaMeses;
+	}
+
+	@Scheduled(fixedDelayString = "${minhasfinancas.recorrencias.intervalo-ms:600000}")
+	public void executar() {
+		try {
+			YearMonth ate = YearMonth.now().plusMonths(antecedenciaMeses);
+			while (recorrenciaService.materializar(ate, tamanhoLote) == tamanhoLote
+					&& !Thread.currentThread().isInterrupted()) {
+				log.debug("Lote de {} recorrências gerado; há mais recorrências pendentes.", tamanhoLote);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Não foi possível gerar os lançamentos das recorrências: {}", e.getMessage());
+		}
+	}
+}
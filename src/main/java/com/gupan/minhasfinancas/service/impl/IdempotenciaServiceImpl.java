@@ -0,0 +1,169 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gupan.minhasfinancas.exception.IdempotenciaException;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
+import com.gupan.minhasfinancas.model.repository.IdempotenciaRepository;
+import com.gupan.minhasfinancas.service.IdempotenciaService;
+
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+	public static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+	private static final long INTERVALO_ESPERA_MS = 50;
+
+	private static final long INTERVALO_LIMPEZA_MS = 60000;
+
+	private static final String EM_ANDAMENTO = "A requisição com esta chave de idempotência ainda está em andamento. Tente novamente.";
+
+	private final IdempotenciaRepository repository;
+
+	private final boolean banco;
+
+	private final Duration validade;
+
+	private final long tempoLimiteMs;
+
+	// Uma resposta (ou requisição em andamento) por chave: as repetições simultâneas aguardam a primeira.
+	private final AsyncCache<String, Idempotencia> respostas;
+
+	private final AtomicLong ultimaLimpeza = new AtomicLong();
+
+	public IdempotenciaServiceImpl(IdempotenciaRepository repository,
+			@Value("${minhasfinancas.idempotencia.banco:false}") boolean banco,
+			@Value("${minhasfinancas.idempotencia.validade-horas:24}") long validadeHoras,
+			@Value("${minhasfinancas.idempotencia.maximo-chaves:100000}") long maximoChaves,
+			@Value("${minhasfinancas.idempotencia.tempo-limite-ms:10000}") long tempoLimiteMs) {
+		this.repository = repository;
+		this.banco = banco;
+		this.validade = Duration.ofHours(validadeHoras);
+		this.tempoLimiteMs = tempoLimiteMs;
+		this.respostas = Caffeine.newBuilder().expireAfterWrite(validade).maximumSize(maximoChaves).buildAsync();
+	}
+
+	@Override
+	public Idempotencia executar(Long idUsuario, String chave, String assinatura, Supplier<Idempotencia> operacao) {
+		if (chave.trim().isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+			throw new RegraNegocioException("Informe uma chave de idempotência de até " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+		}
+
+		String chaveCompleta = idUsuario + ":" + chave;
+		CompletableFuture<Idempotencia> nova = new CompletableFuture<>();
+		CompletableFuture<Idempotencia> existente = respostas.asMap().putIfAbsent(chaveCompleta, nova);
+		if (existente != null) {
+			return conferir(aguardar(existente), assinatura);
+		}
+
+		try {
+			Idempotencia resposta = banco ? executarNoBanco(chaveCompleta, idUsuario, assinatura, operacao)
+					: completar(operacao.get(), chaveCompleta, idUsuario, assinatura);
+			nova.complete(resposta);
+			return conferir(resposta, assinatura);
+		} catch (RuntimeException e) {
+			nova.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private Idempotencia executarNoBanco(String chave, Long idUsuario, String assinatura,
+			Supplier<Idempotencia> operacao) {
+		LocalDateTime agora = LocalDateTime.now();
+		limparExpiradas(agora);
+		repository.liberarSeExpirada(chave, agora);
+		try {
+			repository.reservar(chave, idUsuario, assinatura, agora.plus(validade));
+		} catch (DataIntegrityViolationException e) {
+			return aguardarNoBanco(chave);
+		}
+
+		Idempotencia resposta;
+		try {
+			resposta = completar(operacao.get(), chave, idUsuario, assinatura);
+		} catch (RuntimeException e) {
+			repository.liberar(chave);
+			throw e;
+		}
+		resposta.setExpiraEm(agora.plus(validade));
+		repository.concluir(chave, resposta.getStatus(), resposta.getEtag(), resposta.getTipoConteudo(),
+				resposta.getCorpo());
+		return resposta;
+	}
+
+	// Outra instância reservou a chave: aguarda a resposta dela.
+	private Idempotencia aguardarNoBanco(String chave) {
+		long limite = System.currentTimeMillis() + tempoLimiteMs;
+		while (true) {
+			Optional<Idempotencia> resposta = repository.consultar(chave);
+			if (!resposta.isPresent()) {
+				throw new IdempotenciaException("A requisição com esta chave de idempotência falhou. Tente novamente.", true);
+			}
+			if (resposta.get().getStatus() != null) {
+				return resposta.get();
+			}
+			if (System.currentTimeMillis() > limite) {
+				throw new IdempotenciaException(EM_ANDAMENTO, true);
+			}
+			try {
+				Thread.sleep(INTERVALO_ESPERA_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IdempotenciaException(EM_ANDAMENTO, true);
+			}
+		}
+	}
+
+	private Idempotencia aguardar(CompletableFuture<Idempotencia> resposta) {
+		try {
+			return resposta.get(tempoLimiteMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new IdempotenciaException(EM_ANDAMENTO, true);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IdempotenciaException(EM_ANDAMENTO, true);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private Idempotencia conferir(Idempotencia resposta, String assinatura) {
+		if (!resposta.getAssinatura().equals(assinatura)) {
+			throw new IdempotenciaException("A chave de idempotência já foi usada com outro lançamento.", false);
+		}
+		return resposta;
+	}
+
+	private Idempotencia completar(Idempotencia resposta, String chave, Long idUsuario, String assinatura) {
+		resposta.setChave(chave);
+		resposta.setIdUsuario(idUsuario);
+		resposta.setAssinatura(assinatura);
+		return resposta;
+	}
+
+	private void limparExpiradas(LocalDateTime agora) {
+		long ultima = ultimaLimpeza.get();
+		long atual = System.currentTimeMillis();
+		if (atual - ultima > INTERVALO_LIMPEZA_MS && ultimaLimpeza.compareAndSet(ultima, atual)) {
+			repository.removerExpiradas(agora);
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.api.dto.ErroImportacaoDTO;
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.CacheConsultaService;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+import com.gupan.minhasfinancas.service.ImportacaoLancamentoService;
+import com.gupan.minhasfinancas.service.LancamentoService;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
+import com.gupan.minhasfinancas.service.UsuarioService;
+
+@Service
+public class ImportacaoLancamentoServiceImpl implements ImportacaoLancamentoService {
+
+	public static final int TAMANHO_LOTE = 500;
+
+	private static final char SEPARADOR = ';';
+
+	private static final char ASPAS = '"';
+
+	private LancamentoRepository repository;
+
+	private LancamentoService lancamentoService;
+
+	private UsuarioService usuarioService;
+
+	private SaldoUsuarioService saldoService;
+
+	private ResumoMensalService resumoService;
+
+	private CacheConsultaService cacheConsulta;
+
+	private EventoLancamentoService eventoService;
+
+	private Optional<LancamentosEmMemoria> memoria;
+
+	public ImportacaoLancamentoServiceImpl(LancamentoRepository repository, LancamentoService lancamentoService,
+			UsuarioService usuarioService, SaldoUsuarioService saldoService, ResumoMensalService resumoService,
+			CacheConsultaService cacheConsulta, EventoLancamentoService eventoService,
+			Optional<LancamentosEmMemoria> memoria) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		this.usuarioService = usuarioService;
+		this.saldoService = saldoService;
+		this.resumoService = resumoService;
+		this.cacheConsulta = cacheConsulta;
+		this.eventoService = eventoService;
+		this.memoria = memoria;
+	}
+
+	@Override
+	@Transactional
+	public ResultadoImportacaoDTO importar(Long idUsuario, List<LancamentoDTO> lancamentos) {
+		Importacao importacao = new Importacao(idUsuario);
+		for (int i = 0; i < lancamentos.size(); i++) {
+			importacao.adicionar(i + 1, lancamentos.get(i));
+		}
+		return importacao.concluir();
+	}
+
+	@Override
+	@Transactional
+	public ResultadoImportacaoDTO importarCsv(Long idUsuario, InputStream csv) {
+		Importacao importacao = new Importacao(idUsuario);
+		try (BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+			String linha;
+			int numero = 0;
+			while ((linha = leitor.readLine()) != null) {
+				numero++;
+				if (linha.trim().isEmpty() || (numero == 1 && linha.toLowerCase().startsWith("descricao"))) {
+					continue;
+				}
+				try {
+					importacao.adicionar(numero, lerLinha(linha));
+				} catch (RegraNegocioException e) {
+					importacao.rejeitar(numero, e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return importacao.concluir();
+	}
+
+	private LancamentoDTO lerLinha(String linha) {
+		List<String> colunas = lerColunas(linha);
+		if (colunas.size() != 5 && colunas.size() != 6) {
+			throw new RegraNegocioException("A linha deve conter descricao;mes;ano;valor;tipo[;usuario].");
+		}
+		return LancamentoDTO.builder()
+				.descricao(colunas.get(0))
+				.mes(lerInteiro(colunas.get(1), "Informe um Mês válido."))
+				.ano(lerInteiro(colunas.get(2), "Informe um Ano válido."))
+				.valor(lerNumero(colunas.get(3).replace(',', '.'), "Informe um Valor válido."))
+				.tipo(colunas.get(4).trim().toUpperCase())
+				.usuario(colunas.size() == 6 ? lerNumero(colunas.get(5), "Informe um Usuário.").longValue() : null)
+				.build();
+	}
+
+	private List<String> lerColunas(String linha) {
+		List<String> colunas = new ArrayList<>();
+		StringBuilder coluna = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (c == ASPAS) {
+				if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == ASPAS) {
+					coluna.append(ASPAS);
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if (c == SEPARADOR && !entreAspas) {
+				colunas.add(coluna.toString());
+				coluna.setLength(0);
+			} else {
+				coluna.append(c);
+			}
+		}
+		colunas.add(coluna.toString());
+		return colunas;
+	}
+
+	private BigDecimal lerNumero(String valor, String mensagem) {
+		try {
+			return new BigDecimal(valor.trim());
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException(mensagem);
+		}
+	}
+
+	// Sem truncar: "1.5" ou um número maior que um int rejeitam a linha em vez de virar outro mês/ano.
+	private int lerInteiro(String valor, String mensagem) {
+		try {
+			return lerNumero(valor, mensagem).intValueExact();
+		} catch (ArithmeticException e) {
+			throw new RegraNegocioException(mensagem);
+		}
+	}
+
+	private class Importacao {
+
+		private final long inicio = System.nanoTime();
+
+		private final Long idUsuario;
+
+		private final Map<Integer, LancamentoDTO> lote = new LinkedHashMap<>();
+
+		private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+
+		private final Set<Long> usuariosVerificados = new HashSet<>();
+
+		private final Set<Long> usuariosExistentes = new HashSet<>();
+
+		private int total;
+
+		private int importados;
+
+		Importacao(Long idUsuario) {
+			this.idUsuario = idUsuario;
+		}
+
+		void adicionar(int linha, LancamentoDTO dto) {
+			total++;
+			if (dto.getUsuario() == null) {
+				dto.setUsuario(idUsuario);
+			}
+			lote.put(linha, dto);
+			if (lote.size() == TAMANHO_LOTE) {
+				gravarLote();
+			}
+		}
+
+		void rejeitar(int linha, String mensagem) {
+			total++;
+			erros.add(new ErroImportacaoDTO(linha, mensagem));
+		}
+
+		ResultadoImportacaoDTO concluir() {
+			gravarLote();
+			if (importados > 0) {
+				cacheConsulta.invalidar(idUsuario);
+			}
+			long duracao = Math.max(System.nanoTime() - inicio, 1);
+			return ResultadoImportacaoDTO.builder()
+					.total(total)
+					.importados(importados)
+					.erros(erros)
+					.duracaoMs(TimeUnit.NANOSECONDS.toMillis(duracao))
+					.linhasPorSegundo(total * TimeUnit.SECONDS.toNanos(1) / duracao)
+					.build();
+		}
+
+		private void gravarLote() {
+			if (lote.isEmpty()) {
+				return;
+			}
+			verificarUsuarios();
+
+			List<Lancamento> validos = new ArrayList<>();
+			lote.forEach((linha, dto) -> {
+				try {
+					Lancamento lancamento = converter(dto);
+					lancamentoService.validar(lancamento);
+					lancamento.setStatus(StatusLancamento.PENDENTE);
+					validos.add(lancamento);
+				} catch (RegraNegocioException e) {
+					erros.add(new ErroImportacaoDTO(linha, e.getMessage()));
+				}
+			});
+
+			saldoService.registrarTodos(validos);
+			resumoService.registrarTodos(validos);
+			repository.inserirEmLote(validos);
+			eventoService.registrarTodos(TipoEvento.CRIADO, validos);
+			memoria.ifPresent(m -> m.registrarTodos(validos));
+			importados += validos.size();
+			lote.clear();
+		}
+
+		private void verificarUsuarios() {
+			Set<Long> novos = lote.values().stream().map(LancamentoDTO::getUsuario).filter(Objects::nonNull)
+					.filter(id -> !usuariosVerificados.contains(id)).collect(Collectors.toSet());
+			usuariosExistentes.addAll(usuarioService.filtrarExistentes(novos));
+			usuariosVerificados.addAll(novos);
+		}
+
+		private Lancamento converter(LancamentoDTO dto) {
+			if (!idUsuario.equals(dto.getUsuario())) {
+				throw new RegraNegocioException("O lançamento deve pertencer ao usuário autenticado.");
+			}
+			if (!usuariosExistentes.contains(dto.getUsuario())) {
+				throw new RegraNegocioException("Usuário não encontrado para o ID informado.");
+			}
+			Lancamento lancamento = new Lancamento();
+			lancamento.setDescricao(dto.getDescricao());
+			lancamento.setAno(dto.getAno());
+			lancamento.setMes(dto.getMes());
+			lancamento.setValor(dto.getValor());
+			lancamento.setUsuario(usuarioService.obterReferencia(dto.getUsuario()));
+			if (dto.getTipo() != null) {
+				try {
+					lancamento.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+				} catch (IllegalArgumentException e) {
+					throw new RegraNegocioException("Informe um Tipo de Lançamento.");
+				}
+			}
+			return lancamento;
+		}
+	}
+}
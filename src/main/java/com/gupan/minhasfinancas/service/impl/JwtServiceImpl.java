@@ -0,0 +1,65 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.service.JwtService;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class JwtServiceImpl implements JwtService {
+
+	private final Key chave;
+
+	private final long expiracaoMinutos;
+
+	private final JwtParser parser;
+
+	public JwtServiceImpl(@Value("${minhasfinancas.jwt.chave:}") String chave,
+			@Value("${minhasfinancas.jwt.expiracao-minutos:30}") long expiracaoMinutos) {
+		if (chave.isEmpty()) {
+			log.warn("minhasfinancas.jwt.chave não informada. Usando uma chave aleatória: os tokens perdem a validade ao reiniciar a aplicação.");
+			this.chave = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+		} else {
+			this.chave = Keys.hmacShaKeyFor(Decoders.BASE64.decode(chave));
+		}
+		this.expiracaoMinutos = expiracaoMinutos;
+		this.parser = Jwts.parserBuilder().setSigningKey(this.chave).build();
+	}
+
+	@Override
+	public String gerarToken(Usuario usuario) {
+		Instant agora = Instant.now();
+		return Jwts.builder()
+				.setSubject(usuario.getId().toString())
+				.claim("nome", usuario.getNome())
+				.setIssuedAt(Date.from(agora))
+				.setExpiration(Date.from(agora.plus(expiracaoMinutos, ChronoUnit.MINUTES)))
+				.signWith(chave)
+				.compact();
+	}
+
+	@Override
+	public Long obterIdUsuario(String token) {
+		try {
+			return Long.valueOf(parser.parseClaimsJws(token).getBody().getSubject());
+		} catch (JwtException | IllegalArgumentException e) {
+			throw new ErroAutenticacaoException("Token inválido ou expirado.");
+		}
+	}
+}
@@ -4,27 +4,53 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.config.CacheConfig;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
 import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.entity.Usuario;
 import com.gupan.minhasfinancas.model.enums.StatusLancamento;
-import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
 import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.CacheConsultaService;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
 import com.gupan.minhasfinancas.service.LancamentoService;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService{
 	
+	private static final int QUANTIDADE_MAXIMA_LOTE = 1000;
+	
 	private LancamentoRepository repository;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	private SaldoUsuarioService saldoService;
+	
+	private ResumoMensalService resumoService;
+	
+	private CacheConsultaService cacheConsulta;
+	
+	private EventoLancamentoService eventoService;
+	
+	private Optional<LancamentosEmMemoria> memoria;
+	
+	public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoService,
+			ResumoMensalService resumoService, CacheConsultaService cacheConsulta,
+			EventoLancamentoService eventoService, Optional<LancamentosEmMemoria> memoria) {
 		this.repository = repository;
+		this.saldoService = saldoService;
+		this.resumoService = resumoService;
+		this.cacheConsulta = cacheConsulta;
+		this.eventoService = eventoService;
+		this.memoria = memoria;
 	}
 
 	@Override
@@ -32,7 +58,13 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoService.registrar(lancamentoSalvo);
+		resumoService.registrar(lancamentoSalvo);
+		eventoService.registrar(TipoEvento.CRIADO, lancamentoSalvo);
+		memoria.ifPresent(m -> m.registrar(lancamentoSalvo));
+		invalidarCache(lancamentoSalvo);
+		return lancamentoSalvo;
 	}
 
 	@Override
@@ -40,7 +72,18 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		repository.obterEstadoGravado(lancamento.getId()).ifPresent(anterior -> {
+			saldoService.estornar(anterior);
+			resumoService.estornar(anterior);
+			invalidarCache(anterior);
+		});
+		Lancamento lancamentoAtualizado = repository.save(lancamento);
+		saldoService.registrar(lancamentoAtualizado);
+		resumoService.registrar(lancamentoAtualizado);
+		eventoService.registrar(TipoEvento.ATUALIZADO, lancamentoAtualizado);
+		memoria.ifPresent(m -> m.registrar(lancamentoAtualizado));
+		invalidarCache(lancamentoAtualizado);
+		return lancamentoAtualizado;
 	}
 
 	@Override
@@ -48,14 +91,36 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		repository.delete(lancamento);
+		saldoService.estornar(lancamento);
+		resumoService.estornar(lancamento);
+		eventoService.registrar(TipoEvento.EXCLUIDO, lancamento);
+		memoria.ifPresent(m -> m.remover(lancamento));
+		invalidarCache(lancamento);
+	}
+
+	@Override
+	public List<ItemLancamentoDTO> buscar(Lancamento lancamentoFiltro) {
+		if (lancamentoFiltro.getUsuario() == null || lancamentoFiltro.getUsuario().getId() == null) {
+			return repository.listar(lancamentoFiltro);
+		}
+		Optional<List<ItemLancamentoDTO>> emMemoria = memoria.flatMap(m -> m.buscar(lancamentoFiltro));
+		if (emMemoria.isPresent()) {
+			return emMemoria.get();
+		}
+		return cacheConsulta.obter(CacheConfig.LANCAMENTOS, lancamentoFiltro.getUsuario().getId(),
+				chaveDoFiltro(lancamentoFiltro), () -> repository.listar(lancamentoFiltro));
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro, ExampleMatcher.matching().
-				withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
-		return repository.findAll(example);
+	public List<ItemLancamentoDTO> buscar(Lancamento lancamentoFiltro, Lancamento ultimo, int tamanho) {
+		return repository.buscarPagina(lancamentoFiltro, ultimo, tamanho);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void percorrer(Lancamento lancamentoFiltro, Consumer<ItemLancamentoDTO> consumidor) {
+		repository.percorrer(lancamentoFiltro, consumidor);
 	}
 
 	@Override
@@ -65,6 +130,44 @@ public class LancamentoServiceImpl implements LancamentoService{
 		atualizar(lancamento);
 	}
 
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote(Lancamento lancamentoFiltro, List<Long> ids, StatusLancamento status) {
+		if (status == null || status == StatusLancamento.PENDENTE) {
+			throw new RegraNegocioException("Informe um Status diferente de PENDENTE.");
+		}
+		boolean possuiIds = ids != null && !ids.isEmpty();
+		if (!possuiIds && lancamentoFiltro.getAno() == null) {
+			throw new RegraNegocioException("Informe os lançamentos ou o Ano a atualizar.");
+		}
+		if (possuiIds && ids.size() > QUANTIDADE_MAXIMA_LOTE) {
+			throw new RegraNegocioException("Informe no máximo " + QUANTIDADE_MAXIMA_LOTE + " lançamentos por vez.");
+		}
+
+		lancamentoFiltro.setStatus(StatusLancamento.PENDENTE);
+		List<ResumoMensal> resumos = repository.resumirLote(lancamentoFiltro, ids);
+		long esperados = resumos.stream().mapToLong(ResumoMensal::getQuantidade).sum();
+		if (esperados == 0) {
+			return 0;
+		}
+
+		// Os resumos são bloqueados antes do UPDATE, na mesma ordem usada pelas alterações individuais;
+		// se outra transação mudou algum dos lançamentos entre a contagem e o UPDATE, desfaz tudo.
+		resumoService.transferir(resumos, status);
+		List<ItemLancamentoDTO> alterados = repository.listarLote(lancamentoFiltro, ids);
+		int atualizados = repository.atualizarStatusEmLote(lancamentoFiltro, ids, status);
+		if (atualizados != esperados || alterados.size() != esperados) {
+			throw new RegraNegocioException("Os lançamentos foram alterados durante a atualização. Tente novamente.");
+		}
+		List<Lancamento> lancamentos = alterados.stream()
+				.map(item -> comStatusAtualizado(item, lancamentoFiltro.getUsuario(), status))
+				.collect(Collectors.toList());
+		eventoService.registrarTodos(TipoEvento.ATUALIZADO, lancamentos);
+		memoria.ifPresent(m -> m.registrarTodos(lancamentos));
+		cacheConsulta.invalidar(lancamentoFiltro.getUsuario().getId());
+		return atualizados;
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
 		if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")) {
@@ -98,19 +201,30 @@ public class LancamentoServiceImpl implements LancamentoService{
 	}
 
 	@Override
-	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
-		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
+		Optional<BigDecimal> emMemoria = memoria.flatMap(m -> m.obterSaldo(id));
+		if (emMemoria.isPresent()) {
+			return emMemoria.get();
 		}
-		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
+		return cacheConsulta.obter(CacheConfig.SALDOS, id, "saldo", () -> saldoService.obterSaldo(id));
+	}
+
+	private void invalidarCache(Lancamento lancamento) {
+		if (lancamento.getUsuario() != null && lancamento.getUsuario().getId() != null) {
+			cacheConsulta.invalidar(lancamento.getUsuario().getId());
 		}
-		return receitas.subtract(despesas);
+	}
+
+	// O UPDATE em lote incrementa a versão no banco sem passar pelas entidades.
+	private Lancamento comStatusAtualizado(ItemLancamentoDTO item, Usuario usuario, StatusLancamento status) {
+		return Lancamento.builder().id(item.getId()).descricao(item.getDescricao()).mes(item.getMes())
+				.ano(item.getAno()).usuario(usuario).valor(item.getValor()).dataCadastro(item.getDataCadastro())
+				.tipo(item.getTipo()).status(status).versao(item.getVersao() + 1).build();
+	}
+
+	private String chaveDoFiltro(Lancamento filtro) {
+		return filtro.getAno() + "|" + filtro.getMes() + "|" + filtro.getTipo() + "|" + filtro.getStatus() + "|"
+				+ filtro.getDescricao();
 	}
 
 }
@@ -0,0 +1,383 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.config.LeituraPropria;
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.LancamentoSpecification;
+
+// Lançamentos dos usuários mais ativos em colunas de tipos primitivos. Cada usuário tem um retrato imutável:
+// as leituras não bloqueiam, e as gravações (após o commit) montam um novo retrato com a trava da partição.
+// Só as gravações desta instância atualizam os retratos: com várias instâncias, as demais só as veem após a validade.
+public class LancamentosEmMemoria {
+
+	private static final TipoLancamento[] TIPOS = TipoLancamento.values();
+
+	private static final StatusLancamento[] STATUS = StatusLancamento.values();
+
+	private static final int SEM_DATA = Integer.MIN_VALUE;
+
+	private final LancamentoRepository repository;
+
+	private final Optional<LeituraPropria> leituraPropria;
+
+	private final int acessosParaCarregar;
+
+	private final int maximoPorUsuario;
+
+	private final Cache<Long, Colunas> usuarios;
+
+	private final Cache<Long, AtomicInteger> acessos;
+
+	private final ReentrantLock[] travas;
+
+	public LancamentosEmMemoria(LancamentoRepository repository, Optional<LeituraPropria> leituraPropria,
+			long maximoLancamentos, int maximoPorUsuario, int acessosParaCarregar, int particoes, Duration validade) {
+		this.repository = repository;
+		this.leituraPropria = leituraPropria;
+		this.acessosParaCarregar = acessosParaCarregar;
+		this.maximoPorUsuario = maximoPorUsuario;
+		this.usuarios = Caffeine.newBuilder()
+				.maximumWeight(maximoLancamentos)
+				.weigher((Long idUsuario, Colunas colunas) -> colunas.tamanho + 1)
+				.expireAfterWrite(validade)
+				.build();
+		this.acessos = Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).build();
+		this.travas = new ReentrantLock[Integer.highestOneBit(Math.max(particoes, 1) * 2 - 1)];
+		for (int i = 0; i < travas.length; i++) {
+			travas[i] = new ReentrantLock();
+		}
+	}
+
+	public Optional<List<ItemLancamentoDTO>> buscar(Lancamento filtro) {
+		return obter(filtro.getUsuario().getId()).map(colunas -> colunas.filtrar(filtro));
+	}
+
+	public Optional<BigDecimal> obterSaldo(Long idUsuario) {
+		return obter(idUsuario).map(colunas -> Dinheiro.deCentavos(colunas.saldo).toBigDecimal());
+	}
+
+	public void registrar(Lancamento lancamento) {
+		registrarTodos(Collections.singletonList(lancamento));
+	}
+
+	public void registrarTodos(List<Lancamento> lancamentos) {
+		Map<Long, List<Lancamento>> porUsuario = new HashMap<>();
+		for (Lancamento lancamento : lancamentos) {
+			porUsuario.computeIfAbsent(lancamento.getUsuario().getId(), id -> new ArrayList<>()).add(lancamento);
+		}
+		depoisDoCommit(() -> porUsuario.forEach((idUsuario, alterados) ->
+				alterar(idUsuario, colunas -> colunas.com(alterados, Collections.emptyList()))));
+	}
+
+	public void remover(Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario().getId();
+		List<Long> ids = Collections.singletonList(lancamento.getId());
+		depoisDoCommit(() -> alterar(idUsuario, colunas -> colunas.com(Collections.emptyList(), ids)));
+	}
+
+	// Usado pelo recálculo dos saldos: os usuários voltam a ser carregados do banco após os próximos acessos.
+	public void descartarTodos() {
+		depoisDoCommit(usuarios::invalidateAll);
+	}
+
+	private Optional<Colunas> obter(Long idUsuario) {
+		Colunas colunas = usuarios.getIfPresent(idUsuario);
+		if (colunas != null) {
+			return Optional.of(colunas);
+		}
+		AtomicInteger contador = acessos.get(idUsuario, id -> new AtomicInteger());
+		if (contador.incrementAndGet() != acessosParaCarregar) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(carregar(idUsuario));
+	}
+
+	// Com a trava da partição, nenhuma gravação confirmada se perde entre a leitura do banco e a publicação do retrato.
+	private Colunas carregar(Long idUsuario) {
+		ReentrantLock trava = trava(idUsuario);
+		trava.lock();
+		try {
+			Colunas colunas = usuarios.getIfPresent(idUsuario);
+			if (colunas != null) {
+				return colunas;
+			}
+			Lancamento filtro = new Lancamento();
+			filtro.setUsuario(new Usuario(idUsuario));
+			colunas = noPrimario(() -> {
+				if (repository.count(LancamentoSpecification.doUsuario(idUsuario)) > maximoPorUsuario) {
+					return null;
+				}
+				return Colunas.de(repository.listar(filtro));
+			});
+			if (colunas != null) {
+				usuarios.put(idUsuario, colunas);
+			}
+			return colunas;
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	private void alterar(Long idUsuario, UnaryOperator<Colunas> alteracao) {
+		ReentrantLock trava = trava(idUsuario);
+		trava.lock();
+		try {
+			Colunas atuais = usuarios.getIfPresent(idUsuario);
+			if (atuais != null) {
+				Colunas novas = alteracao.apply(atuais);
+				if (novas.tamanho > maximoPorUsuario) {
+					usuarios.invalidate(idUsuario);
+				} else if (novas != atuais) {
+					usuarios.put(idUsuario, novas);
+				}
+			}
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	private ReentrantLock trava(Long idUsuario) {
+		int hash = idUsuario.hashCode();
+		return travas[(hash ^ (hash >>> 16)) & (travas.length - 1)];
+	}
+
+	private <T> T noPrimario(Supplier<T> consulta) {
+		return leituraPropria.isPresent() ? leituraPropria.get().noPrimario(consulta) : consulta.get();
+	}
+
+	private void depoisDoCommit(Runnable acao) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					acao.run();
+				}
+			});
+		} else {
+			acao.run();
+		}
+	}
+
+	static int compactar(Integer ano, Integer mes) {
+		return ano << 4 | mes;
+	}
+
+	// Linhas ordenadas por ano, mês e id, como na consulta ao banco.
+	static final class Colunas {
+
+		final int tamanho;
+
+		final long[] ids;
+
+		final int[] anoMes;
+
+		final long[] valores;
+
+		final byte[] tipos;
+
+		final byte[] status;
+
+		final long[] versoes;
+
+		final int[] datas;
+
+		final String[] descricoes;
+
+		final long saldo;
+
+		private Colunas(int tamanho) {
+			this.tamanho = tamanho;
+			this.ids = new long[tamanho];
+			this.anoMes = new int[tamanho];
+			this.valores = new long[tamanho];
+			this.tipos = new byte[tamanho];
+			this.status = new byte[tamanho];
+			this.versoes = new long[tamanho];
+			this.datas = new int[tamanho];
+			this.descricoes = new String[tamanho];
+			this.saldo = 0;
+		}
+
+		private Colunas(Colunas origem, long saldo) {
+			this.tamanho = origem.tamanho;
+			this.ids = origem.ids;
+			this.anoMes = origem.anoMes;
+			this.valores = origem.valores;
+			this.tipos = origem.tipos;
+			this.status = origem.status;
+			this.versoes = origem.versoes;
+			this.datas = origem.datas;
+			this.descricoes = origem.descricoes;
+			this.saldo = saldo;
+		}
+
+		static Colunas de(List<ItemLancamentoDTO> itens) {
+			Colunas colunas = new Colunas(itens.size());
+			for (int i = 0; i < itens.size(); i++) {
+				ItemLancamentoDTO item = itens.get(i);
+				colunas.escrever(i, item.getId(), compactar(item.getAno(), item.getMes()), item.getValor(),
+						item.getTipo(), item.getStatus(), item.getVersao(), item.getDataCadastro(), item.getDescricao());
+			}
+			return colunas.comSaldo();
+		}
+
+		Colunas com(Collection<Lancamento> alterados, Collection<Long> removidos) {
+			Map<Long, Integer> posicoes = new HashMap<>();
+			for (int i = 0; i < tamanho; i++) {
+				posicoes.put(ids[i], i);
+			}
+
+			boolean[] descartadas = new boolean[tamanho];
+			int quantidadeDescartadas = 0;
+			for (Long id : removidos) {
+				Integer posicao = posicoes.get(id);
+				if (posicao != null && !descartadas[posicao]) {
+					descartadas[posicao] = true;
+					quantidadeDescartadas++;
+				}
+			}
+			List<Lancamento> novos = new ArrayList<>();
+			for (Lancamento lancamento : alterados) {
+				Integer posicao = posicoes.get(lancamento.getId());
+				// Reaplicar uma alteração já carregada do banco não tem efeito.
+				if (posicao != null && versao(lancamento) <= versoes[posicao]) {
+					continue;
+				}
+				if (posicao != null && !descartadas[posicao]) {
+					descartadas[posicao] = true;
+					quantidadeDescartadas++;
+				}
+				novos.add(lancamento);
+			}
+			if (quantidadeDescartadas == 0 && novos.isEmpty()) {
+				return this;
+			}
+
+			novos.sort(Comparator.comparingInt((Lancamento l) -> compactar(l.getAno(), l.getMes()))
+					.thenComparingLong(Lancamento::getId));
+			Colunas resultado = new Colunas(tamanho - quantidadeDescartadas + novos.size());
+			int destino = 0;
+			int proximo = 0;
+			for (int i = 0; i <= tamanho; i++) {
+				while (proximo < novos.size() && (i == tamanho || antes(novos.get(proximo), i))) {
+					Lancamento l = novos.get(proximo++);
+					resultado.escrever(destino++, l.getId(), compactar(l.getAno(), l.getMes()), l.getValor(),
+							l.getTipo(), l.getStatus(), versao(l), l.getDataCadastro(), l.getDescricao());
+				}
+				if (i < tamanho && !descartadas[i]) {
+					resultado.copiar(destino++, this, i);
+				}
+			}
+			return resultado.comSaldo();
+		}
+
+		List<ItemLancamentoDTO> filtrar(Lancamento filtro) {
+			int inicio = 0;
+			int fim = tamanho;
+			if (filtro.getAno() != null) {
+				int primeiro = compactar(filtro.getAno(), filtro.getMes() == null ? 0 : filtro.getMes());
+				int ultimo = compactar(filtro.getAno(), filtro.getMes() == null ? 15 : filtro.getMes());
+				inicio = limite(primeiro);
+				fim = limite(ultimo + 1);
+			}
+			int tipo = filtro.getTipo() == null ? -1 : filtro.getTipo().ordinal();
+			int situacao = filtro.getStatus() == null ? -1 : filtro.getStatus().ordinal();
+			String descricao = filtro.getDescricao() == null || filtro.getDescricao().trim().isEmpty() ? null
+					: filtro.getDescricao().trim().toLowerCase();
+
+			List<ItemLancamentoDTO> itens = new ArrayList<>();
+			for (int i = inicio; i < fim; i++) {
+				if ((filtro.getMes() != null && (anoMes[i] & 15) != filtro.getMes())
+						|| (tipo >= 0 && tipos[i] != tipo) || (situacao >= 0 && status[i] != situacao)
+						|| (descricao != null && (descricoes[i] == null || !descricoes[i].toLowerCase().contains(descricao)))) {
+					continue;
+				}
+				itens.add(new ItemLancamentoDTO(ids[i], descricoes[i], anoMes[i] & 15, anoMes[i] >> 4,
+						BigDecimal.valueOf(valores[i], 2), TIPOS[tipos[i]], STATUS[status[i]],
+						datas[i] == SEM_DATA ? null : LocalDate.ofEpochDay(datas[i]), versoes[i]));
+			}
+			return itens;
+		}
+
+		// Primeira linha com ano/mês maior ou igual ao informado.
+		private int limite(int valor) {
+			int baixo = 0;
+			int alto = tamanho;
+			while (baixo < alto) {
+				int meio = (baixo + alto) >>> 1;
+				if (anoMes[meio] < valor) {
+					baixo = meio + 1;
+				} else {
+					alto = meio;
+				}
+			}
+			return baixo;
+		}
+
+		private boolean antes(Lancamento lancamento, int linha) {
+			int chave = compactar(lancamento.getAno(), lancamento.getMes());
+			return chave < anoMes[linha] || (chave == anoMes[linha] && lancamento.getId() < ids[linha]);
+		}
+
+		private void escrever(int i, Long id, int anoMes, BigDecimal valor, TipoLancamento tipo,
+				StatusLancamento status, Long versao, LocalDate data, String descricao) {
+			this.ids[i] = id;
+			this.anoMes[i] = anoMes;
+			this.valores[i] = Dinheiro.centavos(valor);
+			this.tipos[i] = (byte) tipo.ordinal();
+			this.status[i] = (byte) status.ordinal();
+			this.versoes[i] = versao == null ? 0 : versao;
+			this.datas[i] = data == null ? SEM_DATA : (int) data.toEpochDay();
+			this.descricoes[i] = descricao;
+		}
+
+		private void copiar(int i, Colunas origem, int j) {
+			ids[i] = origem.ids[j];
+			anoMes[i] = origem.anoMes[j];
+			valores[i] = origem.valores[j];
+			tipos[i] = origem.tipos[j];
+			status[i] = origem.status[j];
+			versoes[i] = origem.versoes[j];
+			datas[i] = origem.datas[j];
+			descricoes[i] = origem.descricoes[j];
+		}
+
+		private Colunas comSaldo() {
+			long total = 0;
+			for (int i = 0; i < tamanho; i++) {
+				total = Math.addExact(total, tipos[i] == TipoLancamento.RECEITA.ordinal() ? valores[i] : -valores[i]);
+			}
+			return new Colunas(this, total);
+		}
+
+		private static long versao(Lancamento lancamento) {
+			return lancamento.getVersao() == null ? 0 : lancamento.getVersao();
+		}
+	}
+}
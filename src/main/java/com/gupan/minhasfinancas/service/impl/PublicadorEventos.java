@@ -0,0 +1,55 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Publica os eventos pendentes em lotes; enquanto os lotes vierem cheios, continua sem esperar o intervalo.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.eventos.publicar", havingValue = "true", matchIfMissing = true)
+public class PublicadorEventos {
+
+	private static final long INTERVALO_LIMPEZA_MS = 3600000;
+
+	private final EventoLancamentoService eventoService;
+
+	private final int tamanhoLote;
+
+	private final Duration retencao;
+
+	private long ultimaLimpeza;
+
+	public PublicadorEventos(EventoLancamentoService eventoService,
+			@Value("${minhasfinancas.eventos.lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.eventos.retencao-dias:7}") long retencaoDias) {
+		this.eventoService = eventoService;
+		this.tamanhoLote = tamanhoLote;
+		this.retencao = Duration.ofDays(retencaoDias);
+	}
+
+	@Scheduled(initialDelayString = "${minhasfinancas.eventos.intervalo-ms:1000}",
+			fixedDelayString = "${minhasfinancas.eventos.intervalo-ms:1000}")
+	public void executar() {
+		try {
+			while (eventoService.publicar(tamanhoLote) == tamanhoLote && !Thread.currentThread().isInterrupted()) {
+				log.debug("Lote de {} eventos publicado; há mais eventos pendentes.", tamanhoLote);
+			}
+			long agora = System.currentTimeMillis();
+			if (agora - ultimaLimpeza >= INTERVALO_LIMPEZA_MS) {
+				ultimaLimpeza = agora;
+				eventoService.removerPublicados(LocalDateTime.now().minus(retencao));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Não foi possível publicar os eventos de lançamento: {}", e.getMessage());
+		}
+	}
+}
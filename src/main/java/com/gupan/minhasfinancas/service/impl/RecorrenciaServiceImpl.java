@@ -0,0 +1,267 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.gupan.minhasfinancas.service.CacheConsultaService;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+import com.gupan.minhasfinancas.service.RecorrenciaService;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+	private static final int TAMANHO_MAXIMO_DESCRICAO = 90;
+
+	private static final int MAXIMO_PARCELAS = 999;
+
+	private static final int MESES_PROJETADOS = 12;
+
+	private RecorrenciaRepository repository;
+
+	private LancamentoRepository lancamentoRepository;
+
+	private SaldoUsuarioService saldoService;
+
+	private ResumoMensalService resumoService;
+
+	private CacheConsultaService cacheConsulta;
+
+	private EventoLancamentoService eventoService;
+
+	private Optional<LancamentosEmMemoria> memoria;
+
+	private long antecedenciaMeses;
+
+	private long retroativoMeses;
+
+	private long horizonteMeses;
+
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoRepository lancamentoRepository,
+			SaldoUsuarioService saldoService, ResumoMensalService resumoService, CacheConsultaService cacheConsulta,
+			EventoLancamentoService eventoService, Optional<LancamentosEmMemoria> memoria,
+			@Value("${minhasfinancas.recorrencias.antecedencia-meses:0}") long antecedenciaMeses,
+			@Value("${minhasfinancas.recorrencias.retroativo-meses:12}") long retroativoMeses,
+			@Value("${minhasfinancas.recorrencias.horizonte-meses:24}") long horizonteMeses) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.saldoService = saldoService;
+		this.resumoService = resumoService;
+		this.cacheConsulta = cacheConsulta;
+		this.eventoService = eventoService;
+		this.memoria = memoria;
+		this.antecedenciaMeses = antecedenciaMeses;
+		this.retroativoMeses = retroativoMeses;
+		this.horizonteMeses = horizonteMeses;
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		validar(recorrencia);
+		recorrencia.setGeradas(0);
+		recorrencia.setProximoPeriodo(periodo(YearMonth.of(recorrencia.getAno(), recorrencia.getMes())));
+		recorrencia.setDataCadastro(LocalDate.now());
+		recorrencia = repository.save(recorrencia);
+
+		// As ocorrências já vencidas são gravadas agora; as demais ficam para o gerador.
+		gravar(gerar(Collections.singletonList(recorrencia), YearMonth.now().plusMonths(antecedenciaMeses)));
+		return recorrencia;
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Recorrencia recorrencia) {
+		repository.delete(recorrencia);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscar(Long idUsuario) {
+		return repository.buscarPorUsuario(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+		if (recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")
+				|| recorrencia.getDescricao().length() > TAMANHO_MAXIMO_DESCRICAO) {
+			throw new RegraNegocioException("Informe uma Descrição válida, com até 90 caracteres.");
+		}
+
+		if (recorrencia.getMes() == null || recorrencia.getMes() < 1 || recorrencia.getMes() > 12) {
+			throw new RegraNegocioException("Informe um Mês válido.");
+		}
+
+		if (recorrencia.getAno() == null || recorrencia.getAno().toString().length() != 4) {
+			throw new RegraNegocioException("Informe um Ano válido.");
+		}
+
+		// As ocorrências vencidas são gravadas na mesma requisição do cadastro, então o início retroativo é limitado.
+		YearMonth inicioMinimo = YearMonth.now().minusMonths(retroativoMeses);
+		if (YearMonth.of(recorrencia.getAno(), recorrencia.getMes()).isBefore(inicioMinimo)) {
+			throw new RegraNegocioException("Informe um Mês inicial a partir de " + formatar(inicioMinimo) + ".");
+		}
+
+		if (recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário.");
+		}
+
+		if (recorrencia.getValor() == null || recorrencia.getValor().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException("Informe um Valor válido.");
+		}
+
+		if (recorrencia.getTipo() == null) {
+			throw new RegraNegocioException("Informe um Tipo de Lançamento.");
+		}
+
+		if (recorrencia.getParcelas() != null
+				&& (recorrencia.getParcelas() < 1 || recorrencia.getParcelas() > MAXIMO_PARCELAS)) {
+			throw new RegraNegocioException("Informe um número de Parcelas entre 1 e 999.");
+		}
+
+		if ((recorrencia.getMesFinal() == null) != (recorrencia.getAnoFinal() == null)) {
+			throw new RegraNegocioException("Informe o Mês e o Ano finais.");
+		}
+
+		if (recorrencia.getMesFinal() != null && (recorrencia.getMesFinal() < 1 || recorrencia.getMesFinal() > 12
+				|| YearMonth.of(recorrencia.getAnoFinal(), recorrencia.getMesFinal())
+						.isBefore(YearMonth.of(recorrencia.getAno(), recorrencia.getMes())))) {
+			throw new RegraNegocioException("Informe um Mês final igual ou posterior ao inicial.");
+		}
+	}
+
+	@Override
+	@Transactional
+	public int materializar(YearMonth ate, int tamanhoLote) {
+		List<Recorrencia> pendentes = repository.buscarPendentes(periodo(ate), PageRequest.of(0, tamanhoLote));
+		gravar(gerar(pendentes, ate));
+		return pendentes.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemLancamentoDTO> projetar(Lancamento lancamentoFiltro) {
+		YearMonth horizonte = YearMonth.now().plusMonths(horizonteMeses);
+		YearMonth limite = lancamentoFiltro.getAno() != null
+				? YearMonth.of(lancamentoFiltro.getAno(), lancamentoFiltro.getMes() != null ? lancamentoFiltro.getMes() : 12)
+				: YearMonth.now().plusMonths(Math.min(MESES_PROJETADOS, horizonteMeses));
+		if (limite.isAfter(horizonte)) {
+			if (lancamentoFiltro.getAno() > horizonte.getYear()
+					|| (lancamentoFiltro.getMes() != null && lancamentoFiltro.getAno() == horizonte.getYear())) {
+				throw new RegraNegocioException("Os lançamentos previstos estão disponíveis até " + formatar(horizonte) + ".");
+			}
+			limite = horizonte;
+		}
+		String descricao = lancamentoFiltro.getDescricao() == null ? null : lancamentoFiltro.getDescricao().toLowerCase();
+
+		List<ItemLancamentoDTO> previstos = new ArrayList<>();
+		for (Recorrencia recorrencia : repository.buscarEmAndamento(lancamentoFiltro.getUsuario().getId())) {
+			for (int parcela = recorrencia.getGeradas(); possuiOcorrencia(recorrencia, parcela, limite); parcela++) {
+				Lancamento ocorrencia = ocorrencia(recorrencia, parcela);
+				if ((lancamentoFiltro.getAno() == null || lancamentoFiltro.getAno().equals(ocorrencia.getAno()))
+						&& (lancamentoFiltro.getMes() == null || lancamentoFiltro.getMes().equals(ocorrencia.getMes()))
+						&& (descricao == null || ocorrencia.getDescricao().toLowerCase().contains(descricao))) {
+					previstos.add(ItemLancamentoDTO.de(ocorrencia));
+				}
+			}
+		}
+		previstos.sort(Comparator.comparing(ItemLancamentoDTO::getAno).thenComparing(ItemLancamentoDTO::getMes));
+		return previstos;
+	}
+
+	private List<Lancamento> gerar(List<Recorrencia> recorrencias, YearMonth ate) {
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for (Recorrencia recorrencia : recorrencias) {
+			int parcela = recorrencia.getGeradas();
+			for (; possuiOcorrencia(recorrencia, parcela, ate); parcela++) {
+				lancamentos.add(ocorrencia(recorrencia, parcela));
+			}
+			recorrencia.setGeradas(parcela);
+			recorrencia.setProximoPeriodo(encerrada(recorrencia, parcela) ? null : periodo(mes(recorrencia, parcela)));
+		}
+		return lancamentos;
+	}
+
+	private void gravar(List<Lancamento> lancamentos) {
+		if (lancamentos.isEmpty()) {
+			return;
+		}
+		saldoService.registrarTodos(lancamentos);
+		resumoService.registrarTodos(lancamentos);
+		lancamentoRepository.inserirEmLote(lancamentos);
+		eventoService.registrarTodos(TipoEvento.CRIADO, lancamentos);
+		memoria.ifPresent(m -> m.registrarTodos(lancamentos));
+
+		Set<Long> usuarios = new TreeSet<>();
+		lancamentos.forEach(lancamento -> usuarios.add(lancamento.getUsuario().getId()));
+		usuarios.forEach(cacheConsulta::invalidar);
+	}
+
+	private boolean possuiOcorrencia(Recorrencia recorrencia, int parcela, YearMonth ate) {
+		return !encerrada(recorrencia, parcela) && !mes(recorrencia, parcela).isAfter(ate);
+	}
+
+	private boolean encerrada(Recorrencia recorrencia, int parcela) {
+		if (recorrencia.getParcelas() != null && parcela >= recorrencia.getParcelas()) {
+			return true;
+		}
+		return recorrencia.getAnoFinal() != null && mes(recorrencia, parcela)
+				.isAfter(YearMonth.of(recorrencia.getAnoFinal(), recorrencia.getMesFinal()));
+	}
+
+	private Lancamento ocorrencia(Recorrencia recorrencia, int parcela) {
+		YearMonth mes = mes(recorrencia, parcela);
+		String descricao = recorrencia.getParcelas() == null ? recorrencia.getDescricao()
+				: recorrencia.getDescricao() + " (" + (parcela + 1) + "/" + recorrencia.getParcelas() + ")";
+		return Lancamento.builder()
+				.descricao(descricao)
+				.ano(mes.getYear())
+				.mes(mes.getMonthValue())
+				.usuario(recorrencia.getUsuario())
+				.valor(recorrencia.getValor())
+				.tipo(recorrencia.getTipo())
+				.status(StatusLancamento.PENDENTE)
+				.dataCadastro(LocalDate.now())
+				.build();
+	}
+
+	private static String formatar(YearMonth mes) {
+		return String.format("%02d/%d", mes.getMonthValue(), mes.getYear());
+	}
+
+	private static YearMonth mes(Recorrencia recorrencia, int parcela) {
+		return YearMonth.of(recorrencia.getAno(), recorrencia.getMes()).plusMonths(parcela);
+	}
+
+	private static int periodo(YearMonth mes) {
+		return mes.getYear() * 100 + mes.getMonthValue();
+	}
+}
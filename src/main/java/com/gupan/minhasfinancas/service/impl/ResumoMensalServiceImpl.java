@@ -0,0 +1,146 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.entity.ResumoMensalId;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.gupan.minhasfinancas.service.ResumoMensalService;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+	private static final int ANO_INICIAL = 1000;
+
+	private static final int ANO_FINAL = 9999;
+
+	private ResumoMensalRepository repository;
+
+	private LancamentoRepository lancamentoRepository;
+
+	public ResumoMensalServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		if (possuiChave(lancamento)) {
+			aplicar(Collections.singletonMap(ResumoMensalId.de(lancamento), variacao(lancamento, 1)));
+		}
+	}
+
+	@Override
+	@Transactional
+	public void registrarTodos(List<Lancamento> lancamentos) {
+		Map<ResumoMensalId, ResumoMensal> variacoes = new TreeMap<>();
+		for (Lancamento lancamento : lancamentos) {
+			if (possuiChave(lancamento)) {
+				ResumoMensal variacao = variacoes.computeIfAbsent(ResumoMensalId.de(lancamento), ResumoMensal::zerado);
+				somar(variacao, variacao(lancamento, 1));
+			}
+		}
+		aplicar(variacoes);
+	}
+
+	@Override
+	@Transactional
+	public void estornar(Lancamento lancamento) {
+		if (possuiChave(lancamento)) {
+			aplicar(Collections.singletonMap(ResumoMensalId.de(lancamento), variacao(lancamento, -1)));
+		}
+	}
+
+	@Override
+	@Transactional
+	public void transferir(List<ResumoMensal> resumos, StatusLancamento status) {
+		Map<ResumoMensalId, ResumoMensal> variacoes = new TreeMap<>();
+		for (ResumoMensal resumo : resumos) {
+			ResumoMensalId origem = resumo.getId();
+			ResumoMensalId destino = new ResumoMensalId(origem.getIdUsuario(), origem.getAno(), origem.getMes(),
+					origem.getTipo(), status);
+			somar(variacoes.computeIfAbsent(origem, ResumoMensal::zerado),
+					new ResumoMensal(null, -resumo.getQuantidade(), resumo.getTotal().negar()));
+			somar(variacoes.computeIfAbsent(destino, ResumoMensal::zerado),
+					new ResumoMensal(null, resumo.getQuantidade(), resumo.getTotal()));
+		}
+		aplicar(variacoes);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensal> obterResumo(Long idUsuario, Integer anoInicial, Integer anoFinal) {
+		int inicio = anoInicial == null ? ANO_INICIAL : anoInicial;
+		int fim = anoFinal == null ? ANO_FINAL : anoFinal;
+
+		List<ResumoMensal> resumo = repository.obterPorUsuario(idUsuario, inicio, fim);
+		if (resumo.isEmpty()) {
+			return lancamentoRepository.calcularResumo(idUsuario, inicio, fim);
+		}
+		return resumo;
+	}
+
+	/**
+	 * Não há uma linha por usuário para bloquear como no saldo, então a tabela fica bloqueada para gravação
+	 * até o commit. Os totais são lidos depois do bloqueio: um lançamento gravado em paralelo ou já está
+	 * neles ou chega como variação quando o recálculo terminar.
+	 */
+	@Override
+	@Transactional
+	public void recalcular() {
+		repository.bloquearGravacoes();
+		repository.deleteAllInBatch();
+		repository.saveAll(lancamentoRepository.calcularTodosOsResumos());
+	}
+
+	private void aplicar(Map<ResumoMensalId, ResumoMensal> variacoes) {
+		Set<Long> verificados = new HashSet<>();
+		for (Map.Entry<ResumoMensalId, ResumoMensal> entrada : variacoes.entrySet()) {
+			ResumoMensalId id = entrada.getKey();
+			Optional<ResumoMensal> existente = repository.obterParaAtualizacao(id);
+			if (!existente.isPresent() && verificados.add(id.getIdUsuario())
+					&& !repository.possuiResumo(id.getIdUsuario())) {
+				// Usuário com lançamentos anteriores aos resumos: cria todos os meses dele, não só o alterado.
+				repository.inserirDosLancamentos(id.getIdUsuario());
+				existente = repository.obterParaAtualizacao(id);
+			}
+			ResumoMensal resumo = existente.orElseGet(() -> ResumoMensal.zerado(id));
+			somar(resumo, entrada.getValue());
+			if (resumo.getQuantidade() > 0) {
+				repository.save(resumo);
+			} else if (existente.isPresent()) {
+				repository.delete(resumo);
+			}
+		}
+	}
+
+	private boolean possuiChave(Lancamento lancamento) {
+		return lancamento.getUsuario() != null && lancamento.getUsuario().getId() != null
+				&& lancamento.getAno() != null && lancamento.getMes() != null && lancamento.getTipo() != null
+				&& lancamento.getStatus() != null && lancamento.getValor() != null;
+	}
+
+	private ResumoMensal variacao(Lancamento lancamento, int sinal) {
+		Dinheiro valor = Dinheiro.de(lancamento.getValor());
+		return new ResumoMensal(null, (long) sinal, sinal < 0 ? valor.negar() : valor);
+	}
+
+	private void somar(ResumoMensal resumo, ResumoMensal variacao) {
+		resumo.setQuantidade(resumo.getQuantidade() + variacao.getQuantidade());
+		resumo.setTotal(resumo.getTotal().somar(variacao.getTotal()));
+	}
+}
@@ -0,0 +1,148 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.SaldoUsuario;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.gupan.minhasfinancas.service.CacheConsultaService;
+import com.gupan.minhasfinancas.service.SaldoUsuarioService;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+	private SaldoUsuarioRepository repository;
+
+	private LancamentoRepository lancamentoRepository;
+
+	private CacheConsultaService cacheConsulta;
+
+	private Optional<LancamentosEmMemoria> memoria;
+
+	public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository,
+			CacheConsultaService cacheConsulta, Optional<LancamentosEmMemoria> memoria) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.cacheConsulta = cacheConsulta;
+		this.memoria = memoria;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		aplicar(lancamento, 1);
+	}
+
+	@Override
+	@Transactional
+	public void registrarTodos(List<Lancamento> lancamentos) {
+		Map<Long, SaldoUsuario> variacoes = new TreeMap<>();
+		for (Lancamento lancamento : lancamentos) {
+			Long idUsuario = lancamento.getUsuario().getId();
+			somar(variacoes.computeIfAbsent(idUsuario, SaldoUsuario::zerado), lancamento.getTipo(), lancamento.getValor());
+		}
+
+		variacoes.forEach((idUsuario, variacao) -> {
+			SaldoUsuario saldo = obterParaAtualizacao(idUsuario);
+			saldo.setReceitas(saldo.getReceitas().somar(variacao.getReceitas()));
+			saldo.setDespesas(saldo.getDespesas().somar(variacao.getDespesas()));
+			repository.save(saldo);
+		});
+	}
+
+	@Override
+	@Transactional
+	public void estornar(Lancamento lancamento) {
+		aplicar(lancamento, -1);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return repository.findById(idUsuario).map(SaldoUsuario::getSaldo)
+				.orElseGet(() -> calcular(idUsuario, lancamentoRepository.obterTotaisPorTipo(idUsuario)).getSaldo())
+				.toBigDecimal();
+	}
+
+	/**
+	 * Refaz um usuário por vez sob o bloqueio do seu saldo, na ordem dos ids como no registrarTodos. Um
+	 * lançamento gravado em paralelo ou já está nos totais recalculados ou chega como variação depois.
+	 */
+	@Override
+	@Transactional
+	public void recalcular() {
+		SortedSet<Long> usuarios = new TreeSet<>(lancamentoRepository.obterUsuariosComLancamentos());
+		usuarios.addAll(repository.obterUsuarios());
+		for (Long idUsuario : usuarios) {
+			SaldoUsuario saldo = obterParaAtualizacao(idUsuario);
+			SaldoUsuario calculado = calcular(idUsuario, lancamentoRepository.obterTotaisPorTipo(idUsuario));
+			saldo.setReceitas(calculado.getReceitas());
+			saldo.setDespesas(calculado.getDespesas());
+			repository.save(saldo);
+		}
+		cacheConsulta.invalidarTodos();
+		memoria.ifPresent(LancamentosEmMemoria::descartarTodos);
+	}
+
+	private void aplicar(Lancamento lancamento, int sinal) {
+		if (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null || lancamento.getTipo() == null
+				|| lancamento.getValor() == null) {
+			return;
+		}
+		Long idUsuario = lancamento.getUsuario().getId();
+		SaldoUsuario saldo = obterParaAtualizacao(idUsuario);
+		Dinheiro valor = Dinheiro.de(lancamento.getValor());
+		somar(saldo, lancamento.getTipo(), sinal < 0 ? valor.negar() : valor);
+		repository.save(saldo);
+	}
+
+	/**
+	 * Bloqueia o saldo do usuário. Se ainda não houver saldo armazenado, ele é criado a partir dos
+	 * lançamentos já gravados, sem os pendentes desta transação, que chegam como variação.
+	 */
+	private SaldoUsuario obterParaAtualizacao(Long idUsuario) {
+		Optional<SaldoUsuario> saldo = repository.obterParaAtualizacao(idUsuario);
+		if (saldo.isPresent()) {
+			return saldo.get();
+		}
+		SaldoUsuario inicial = calcular(idUsuario, lancamentoRepository.obterTotaisPorTipo(idUsuario));
+		repository.inserirSeAusente(idUsuario, inicial.getReceitas().toBigDecimal(),
+				inicial.getDespesas().toBigDecimal());
+		return repository.obterParaAtualizacao(idUsuario)
+				.orElseThrow(() -> new IllegalStateException("Saldo do usuário " + idUsuario + " não encontrado."));
+	}
+
+	private SaldoUsuario calcular(Long idUsuario, List<Object[]> totais) {
+		SaldoUsuario saldo = SaldoUsuario.zerado(idUsuario);
+		for (Object[] linha : totais) {
+			somar(saldo, (TipoLancamento) linha[0], (BigDecimal) linha[1]);
+		}
+		return saldo;
+	}
+
+	private void somar(SaldoUsuario saldo, TipoLancamento tipo, BigDecimal valor) {
+		if (valor != null) {
+			somar(saldo, tipo, Dinheiro.de(valor));
+		}
+	}
+
+	private void somar(SaldoUsuario saldo, TipoLancamento tipo, Dinheiro valor) {
+		if (tipo == TipoLancamento.RECEITA) {
+			saldo.setReceitas(saldo.getReceitas().somar(valor));
+		} else {
+			saldo.setDespesas(saldo.getDespesas().somar(valor));
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.gupan.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.exception.ServicoIndisponivelException;
+import com.gupan.minhasfinancas.service.SenhaService;
+
+@Service
+public class SenhaServiceImpl implements SenhaService {
+
+	private static final String HMAC = "HmacSHA256";
+
+	private final PasswordEncoder codificador;
+
+	private final Cache senhasConferidas;
+
+	private final ThreadPoolExecutor executor;
+
+	private final long tempoLimiteMs;
+
+	private final SecretKeySpec chave;
+
+	public SenhaServiceImpl(PasswordEncoder codificador, CacheManager cacheManager,
+			@Value("${minhasfinancas.senha.threads:0}") int threads,
+			@Value("${minhasfinancas.senha.fila:256}") int fila,
+			@Value("${minhasfinancas.senha.tempo-limite-ms:5000}") long tempoLimiteMs) {
+		this.codificador = codificador;
+		this.senhasConferidas = cacheManager.getCache(CacheConfig.SENHAS_CONFERIDAS);
+		int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("senha-"));
+		this.tempoLimiteMs = tempoLimiteMs;
+
+		byte[] segredo = new byte[32];
+		new SecureRandom().nextBytes(segredo);
+		this.chave = new SecretKeySpec(segredo, HMAC);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdown();
+	}
+
+	@Override
+	public String codificar(String senha) {
+		return executar(() -> codificador.encode(senha));
+	}
+
+	@Override
+	public boolean confere(String senha, String senhaGravada) {
+		if (senha == null || senhaGravada == null) {
+			return false;
+		}
+
+		boolean cacheavel = senhasConferidas != null && !precisaAtualizar(senhaGravada);
+		byte[] assinatura = cacheavel ? assinar(senha) : null;
+		if (cacheavel) {
+			byte[] conferida = senhasConferidas.get(senhaGravada, byte[].class);
+			if (conferida != null && MessageDigest.isEqual(conferida, assinatura)) {
+				return true;
+			}
+		}
+
+		boolean confere = executar(() -> codificador.matches(senha, senhaGravada));
+		if (confere && cacheavel) {
+			senhasConferidas.put(senhaGravada, assinatura);
+		}
+		return confere;
+	}
+
+	@Override
+	public boolean precisaAtualizar(String senhaGravada) {
+		return senhaGravada != null && codificador.upgradeEncoding(senhaGravada);
+	}
+
+	private <T> T executar(Callable<T> tarefa) {
+		Future<T> futuro;
+		try {
+			futuro = executor.submit(tarefa);
+		} catch (RejectedExecutionException e) {
+			throw new ServicoIndisponivelException("Muitas autenticações simultâneas. Tente novamente.");
+		}
+
+		try {
+			return futuro.get(tempoLimiteMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			futuro.cancel(true);
+			throw new ServicoIndisponivelException("Tempo de verificação da senha esgotado. Tente novamente.");
+		} catch (InterruptedException e) {
+			futuro.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServicoIndisponivelException("Verificação da senha interrompida.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private byte[] assinar(String senha) {
+		try {
+			Mac mac = Mac.getInstance(HMAC);
+			mac.init(chave);
+			return mac.doFinal(senha.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException | InvalidKeyException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,24 +1,36 @@
 package com.gupan.minhasfinancas.service.impl;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.gupan.minhasfinancas.config.CacheConfig;
 import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
 import com.gupan.minhasfinancas.model.entity.Usuario;
 import com.gupan.minhasfinancas.model.repository.UsuarioRepository;
+import com.gupan.minhasfinancas.service.SenhaService;
 import com.gupan.minhasfinancas.service.UsuarioService;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
 	private UsuarioRepository repository;
+	private SenhaService senhaService;
+	private CacheManager cacheManager;
 	
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, SenhaService senhaService, CacheManager cacheManager) {
 		super();
 		this.repository = repository;
+		this.senhaService = senhaService;
+		this.cacheManager = cacheManager;
 	}
 
 	@Override
@@ -28,17 +40,33 @@ public class UsuarioServiceImpl implements UsuarioService {
 			throw new ErroAutenticacaoException("Usuário não encontrado para o e-mail informado.");
 		}
 		
-		if(!usuario.get().getSenha().equals(senha)) {
+		if(!senhaService.confere(senha, usuario.get().getSenha())) {
 			throw new ErroAutenticacaoException("Senha inválida.");
 		}
 		
+		if (senhaService.precisaAtualizar(usuario.get().getSenha())) {
+			atualizarSenha(usuario.get(), senhaService.codificar(senha));
+		}
+		
 		return usuario.get();
 	}
 
+	private void atualizarSenha(Usuario usuario, String novaSenha) {
+		repository.atualizarSenha(usuario.getId(), usuario.getSenha(), novaSenha);
+		cacheManager.getCache(CacheConfig.USUARIOS).evict(usuario.getId());
+		cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).evict(usuario.getEmail());
+	}
+
 	@Override
 	@Transactional
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#usuario.id", condition = "#usuario.id != null"),
+			@CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#usuario.email", condition = "#usuario.email != null") })
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
+		if (usuario.getSenha() != null) {
+			usuario.setSenha(senhaService.codificar(usuario.getSenha()));
+		}
 		return repository.save(usuario);
 	}
 
@@ -55,4 +83,17 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return repository.findById(id);
 	}
 
+	@Override
+	public Usuario obterReferencia(Long id) {
+		return repository.getReferenceById(id);
+	}
+
+	@Override
+	public Set<Long> filtrarExistentes(Collection<Long> ids) {
+		if (ids.isEmpty()) {
+			return new HashSet<>();
+		}
+		return new HashSet<>(repository.obterIdsExistentes(ids));
+	}
+
 }
@@ -0,0 +1,7 @@
+-- As senhas são gravadas com hash ({bcrypt} ou {argon2}).
+ALTER TABLE financas.usuario ALTER COLUMN senha TYPE varchar(255);
+
+-- Controle de concorrência otimista.
+ALTER TABLE financas.usuario ADD COLUMN versao bigint NOT NULL default 0;
+
+ALTER TABLE financas.lancamento ADD COLUMN versao bigint NOT NULL default 0;
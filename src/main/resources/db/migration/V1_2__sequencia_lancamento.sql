@@ -0,0 +1,12 @@
+-- Os ids são alocados pelo Hibernate em blocos de 50 (otimizador pooled), por isso a sequência deixa de
+-- ser default da coluna e de pertencer a ela (a tabela é recriada ao ser particionada).
+-- O otimizador usa os 49 valores abaixo do retornado pela sequência, então ela é posicionada
+-- um bloco inteiro acima do maior id existente.
+
+CREATE SEQUENCE IF NOT EXISTS financas.lancamento_id_seq;
+
+ALTER TABLE financas.lancamento ALTER COLUMN id DROP DEFAULT;
+
+ALTER SEQUENCE financas.lancamento_id_seq INCREMENT BY 50 OWNED BY NONE;
+
+SELECT setval('financas.lancamento_id_seq', (SELECT coalesce(max(id), 0) FROM financas.lancamento) + 50);
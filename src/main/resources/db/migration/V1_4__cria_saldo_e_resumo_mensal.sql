@@ -0,0 +1,33 @@
+CREATE TABLE financas.saldo_usuario
+(
+  id_usuario bigint NOT NULL PRIMARY KEY REFERENCES financas.usuario (id),
+  receitas numeric(16,2) NOT NULL default 0,
+  despesas numeric(16,2) NOT NULL default 0
+);
+
+CREATE TABLE financas.resumo_mensal
+(
+  id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+  ano integer NOT NULL,
+  mes integer NOT NULL,
+  tipo varchar(20) NOT NULL,
+  status varchar(20) NOT NULL,
+  quantidade bigint NOT NULL default 0,
+  total numeric(16,2) NOT NULL default 0,
+  PRIMARY KEY (id_usuario, ano, mes, tipo, status)
+);
+
+-- Os agregados são mantidos a cada gravação; os lançamentos já existentes entram aqui.
+INSERT INTO financas.saldo_usuario (id_usuario, receitas, despesas)
+SELECT id_usuario,
+       coalesce(sum(valor) FILTER (WHERE tipo = 'RECEITA'), 0),
+       coalesce(sum(valor) FILTER (WHERE tipo = 'DESPESA'), 0)
+FROM financas.lancamento
+WHERE id_usuario IS NOT NULL
+GROUP BY id_usuario;
+
+INSERT INTO financas.resumo_mensal (id_usuario, ano, mes, tipo, status, quantidade, total)
+SELECT id_usuario, ano, mes, tipo, status, count(*), coalesce(sum(valor), 0)
+FROM financas.lancamento
+WHERE id_usuario IS NOT NULL
+GROUP BY id_usuario, ano, mes, tipo, status;
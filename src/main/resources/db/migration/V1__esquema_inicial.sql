@@ -1,9 +1,10 @@
-﻿
-CREATE DATABASE minhasfinancas;
+-- Esquema do antigo database.sql, sem o CREATE DATABASE (a conexão já aponta para a base).
+-- Bases criadas por aquele script são adotadas na versão 0 (spring.flyway.baseline-version) e
+-- passam por esta migração sem alterações; as mudanças seguintes ficam nas próximas versões.
 
-CREATE SCHEMA financas;
+CREATE SCHEMA IF NOT EXISTS financas;
 
-CREATE TABLE financas.usuario
+CREATE TABLE IF NOT EXISTS financas.usuario
 (
   id bigserial NOT NULL PRIMARY KEY,
   nome varchar(150),
@@ -12,7 +13,7 @@ CREATE TABLE financas.usuario
   data_cadastro date default now()
 );
 
-CREATE TABLE financas.lancamento
+CREATE TABLE IF NOT EXISTS financas.lancamento
 (
   id bigserial NOT NULL PRIMARY KEY ,
   descricao varchar(100) NOT NULL,
@@ -23,4 +24,4 @@ CREATE TABLE financas.lancamento
   status varchar(20) check (status in ('PENDENTE', 'CANCELADO', 'EFETIVADO')) NOT NULL,
   id_usuario bigint REFERENCES financas.usuario (id),
   data_cadastro date default now()
-);
\ No newline at end of file
+);
@@ -0,0 +1,49 @@
+-- Particiona os lançamentos por ano: as consultas filtradas por ano leem apenas a partição do ano.
+-- A chave primária precisa conter a coluna de particionamento; o id continua vindo da sequência.
+-- Anos anteriores a 2015 ficam em lancamento_historico e posteriores a 2040 em lancamento_futuro;
+-- novos anos são criados separando lancamento_futuro (DETACH, CREATE ... PARTITION OF, INSERT, ATTACH).
+
+ALTER TABLE financas.lancamento RENAME TO lancamento_antigo;
+ALTER TABLE financas.lancamento_antigo RENAME CONSTRAINT lancamento_pkey TO lancamento_antigo_pkey;
+DROP INDEX IF EXISTS financas.idx_lancamento_usuario_ano_mes;
+DROP INDEX IF EXISTS financas.idx_lancamento_descricao_trgm;
+
+CREATE TABLE financas.lancamento
+(
+  id bigint NOT NULL,
+  descricao varchar(100) NOT NULL,
+  mes integer NOT NULL,
+  ano integer NOT NULL,
+  valor numeric(16,2),
+  tipo varchar(20) check (tipo in ('RECEITA', 'DESPESA')) NOT NULL,
+  status varchar(20) check (status in ('PENDENTE', 'CANCELADO', 'EFETIVADO')) NOT NULL,
+  id_usuario bigint REFERENCES financas.usuario (id),
+  data_cadastro date default now(),
+  versao bigint NOT NULL default 0,
+  PRIMARY KEY (id, ano)
+) PARTITION BY RANGE (ano);
+
+CREATE TABLE financas.lancamento_historico PARTITION OF financas.lancamento FOR VALUES FROM (MINVALUE) TO (2015);
+
+DO $$
+BEGIN
+  FOR ano IN 2015..2040 LOOP
+    EXECUTE format('CREATE TABLE financas.lancamento_%s PARTITION OF financas.lancamento FOR VALUES FROM (%s) TO (%s)',
+                   ano, ano, ano + 1);
+  END LOOP;
+END
+$$;
+
+CREATE TABLE financas.lancamento_futuro PARTITION OF financas.lancamento FOR VALUES FROM (2041) TO (MAXVALUE);
+
+INSERT INTO financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao)
+SELECT id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao
+FROM financas.lancamento_antigo;
+
+DROP TABLE financas.lancamento_antigo;
+
+CREATE INDEX idx_lancamento_usuario_ano_mes ON financas.lancamento (id_usuario, ano, mes, id);
+
+CREATE INDEX idx_lancamento_descricao_trgm ON financas.lancamento USING gin (lower(descricao) gin_trgm_ops);
+
+ANALYZE financas.lancamento;
@@ -0,0 +1,13 @@
+CREATE TABLE financas.idempotencia
+(
+  chave varchar(150) NOT NULL PRIMARY KEY,
+  id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+  assinatura varchar(64) NOT NULL,
+  status integer,
+  etag varchar(64),
+  tipo_conteudo varchar(100),
+  corpo text,
+  expira_em timestamp NOT NULL
+);
+
+CREATE INDEX idx_idempotencia_expira_em ON financas.idempotencia (expira_em);
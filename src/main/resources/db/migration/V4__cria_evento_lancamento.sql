@@ -0,0 +1,31 @@
+CREATE SEQUENCE financas.evento_lancamento_id_seq INCREMENT BY 50;
+
+CREATE TABLE financas.evento_lancamento
+(
+  id bigint NOT NULL PRIMARY KEY,
+  posicao bigint UNIQUE,
+  id_usuario bigint NOT NULL,
+  id_lancamento bigint NOT NULL,
+  tipo_evento varchar(20) NOT NULL CHECK (tipo_evento IN ('CRIADO', 'ATUALIZADO', 'EXCLUIDO')),
+  descricao varchar(100),
+  mes integer,
+  ano integer,
+  valor numeric(16,2),
+  tipo varchar(20),
+  status varchar(20),
+  versao bigint,
+  data_evento timestamp NOT NULL
+);
+
+CREATE INDEX idx_evento_lancamento_usuario_posicao ON financas.evento_lancamento (id_usuario, posicao);
+
+-- Somente os pendentes: o publicador não percorre os eventos já publicados.
+CREATE INDEX idx_evento_lancamento_pendente ON financas.evento_lancamento (id) WHERE posicao IS NULL;
+
+CREATE TABLE financas.publicacao_evento
+(
+  id integer NOT NULL PRIMARY KEY,
+  ultima_posicao bigint NOT NULL
+);
+
+INSERT INTO financas.publicacao_evento (id, ultima_posicao) VALUES (1, 0);
@@ -0,0 +1,21 @@
+CREATE TABLE financas.recorrencia
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  descricao varchar(90) NOT NULL,
+  id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+  valor numeric(16,2) NOT NULL,
+  tipo varchar(20) check (tipo in ('RECEITA', 'DESPESA')) NOT NULL,
+  mes integer NOT NULL,
+  ano integer NOT NULL,
+  parcelas integer,
+  mes_final integer,
+  ano_final integer,
+  geradas integer NOT NULL default 0,
+  proximo_periodo integer,
+  data_cadastro date default now()
+);
+
+CREATE INDEX idx_recorrencia_usuario ON financas.recorrencia (id_usuario);
+
+-- Somente as que ainda têm ocorrências a gerar: o gerador não percorre as encerradas.
+CREATE INDEX idx_recorrencia_pendente ON financas.recorrencia (proximo_periodo, id) WHERE proximo_periodo IS NOT NULL;
@@ -0,0 +1,285 @@
+package com.gupan.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
+import com.gupan.minhasfinancas.exception.IdempotenciaException;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.gupan.minhasfinancas.service.EventoLancamentoService;
+import com.gupan.minhasfinancas.service.IdempotenciaService;
+import com.gupan.minhasfinancas.service.LancamentoService;
+import com.gupan.minhasfinancas.service.RecorrenciaService;
+import com.gupan.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class)
+@AutoConfigureMockMvc
+public class LancamentoResourceTest {
+
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+	static final Long ID_USUARIO = 1L;
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	LancamentoService service;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	IdempotenciaService idempotenciaService;
+
+	@MockBean
+	EventoLancamentoService eventoService;
+
+	@MockBean
+	RecorrenciaService recorrenciaService;
+
+	@Test
+	public void deveRetornarNaoModificadoQuandoAVersaoDoLancamentoNaoMudou() throws Exception {
+		//Cenário
+		Lancamento lancamento = criarLancamento(2L);
+		Mockito.when(service.obterPorId(lancamento.getId())).thenReturn(Optional.of(lancamento));
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API.concat("/1"))))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2\""))
+				.andExpect(MockMvcResultMatchers.jsonPath("versao").value(2));
+
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API.concat("/1")).header(HttpHeaders.IF_NONE_MATCH, "\"2\"")))
+				.andExpect(MockMvcResultMatchers.status().isNotModified())
+				.andExpect(MockMvcResultMatchers.content().string(""));
+	}
+
+	@Test
+	public void deveRetornarNaoModificadoQuandoAListaNaoMudou() throws Exception {
+		//Cenário
+		List<ItemLancamentoDTO> lancamentos = Collections.singletonList(ItemLancamentoDTO.de(criarLancamento(0L)));
+		Mockito.when(service.buscar(Mockito.any(Lancamento.class))).thenReturn(lancamentos);
+
+		MvcResult primeira = mvc.perform(autenticado(MockMvcRequestBuilders.get(API)))
+				.andExpect(MockMvcResultMatchers.status().isOk()).andReturn();
+		String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API).header(HttpHeaders.IF_NONE_MATCH, etag)))
+				.andExpect(MockMvcResultMatchers.status().isNotModified());
+
+		lancamentos.get(0).setVersao(1L);
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API).header(HttpHeaders.IF_NONE_MATCH, etag)))
+				.andExpect(MockMvcResultMatchers.status().isOk());
+	}
+
+	@Test
+	public void deveIncluirAsOcorrenciasPrevistasQuandoSolicitado() throws Exception {
+		//Cenário
+		Lancamento gravado = criarLancamento(0L);
+		gravado.setMes(3);
+		Lancamento previsto = LancamentoRepositoryTest.criarLancamento();
+		previsto.setDescricao("Aluguel");
+		previsto.setMes(2);
+		Mockito.when(service.buscar(Mockito.any(Lancamento.class)))
+				.thenReturn(Collections.singletonList(ItemLancamentoDTO.de(gravado)));
+		Mockito.when(recorrenciaService.projetar(Mockito.any(Lancamento.class)))
+				.thenReturn(Collections.singletonList(ItemLancamentoDTO.de(previsto)));
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API).param("ano", "2023").param("previstos", "true")))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].descricao").value("Aluguel"))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].id").doesNotExist())
+				.andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(1));
+
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API).param("ano", "2023")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+		Mockito.verify(recorrenciaService, Mockito.times(1)).projetar(Mockito.any(Lancamento.class));
+	}
+
+	@Test
+	public void deveRecusarAsOcorrenciasPrevistasAlemDoHorizonte() throws Exception {
+		//Cenário
+		Mockito.when(recorrenciaService.projetar(Mockito.any(Lancamento.class)))
+				.thenThrow(new RegraNegocioException("Os lançamentos previstos estão disponíveis até 10/2028."));
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API).param("ano", "9999").param("previstos", "true")))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void deveRetornarPreCondicaoFalhaAoAtualizarUmaVersaoDesatualizada() throws Exception {
+		//Cenário
+		Lancamento lancamento = criarLancamento(3L);
+		Mockito.when(service.obterPorId(lancamento.getId())).thenReturn(Optional.of(lancamento));
+		String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.put(API.concat("/1")).header(HttpHeaders.IF_MATCH, "\"2\""))
+				.contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""));
+
+		Mockito.verify(service, Mockito.times(1)).obterPorId(lancamento.getId());
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any());
+	}
+
+	@Test
+	public void deveAtualizarQuandoAVersaoCorresponder() throws Exception {
+		//Cenário
+		Lancamento lancamento = criarLancamento(3L);
+		Mockito.when(service.obterPorId(lancamento.getId())).thenReturn(Optional.of(lancamento));
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		Mockito.when(service.atualizar(Mockito.any(Lancamento.class))).thenAnswer(invocacao -> {
+			Lancamento atualizado = invocacao.getArgument(0);
+			atualizado.setVersao(atualizado.getVersao() + 1);
+			return atualizado;
+		});
+		String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.put(API.concat("/1")).header(HttpHeaders.IF_MATCH, "\"3\""))
+				.contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""));
+	}
+
+	@Test
+	public void deveRetornarPreCondicaoFalhaAoDeletarUmaVersaoDesatualizada() throws Exception {
+		//Cenário
+		Lancamento lancamento = criarLancamento(3L);
+		Mockito.when(service.obterPorId(lancamento.getId())).thenReturn(Optional.of(lancamento));
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.delete(API.concat("/1")).header(HttpHeaders.IF_MATCH, "\"1\"")))
+				.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+		Mockito.verify(service, Mockito.never()).deletar(Mockito.any());
+	}
+
+	@Test
+	public void deveReproduzirACriacaoComAMesmaChaveDeIdempotencia() throws Exception {
+		//Cenário
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		Mockito.when(service.salvar(Mockito.any(Lancamento.class))).thenAnswer(invocacao -> {
+			Lancamento salvo = invocacao.getArgument(0);
+			salvo.setId(1L);
+			salvo.setVersao(0L);
+			return salvo;
+		});
+		Idempotencia[] gravada = new Idempotencia[1];
+		Mockito.when(idempotenciaService.executar(Mockito.eq(ID_USUARIO), Mockito.eq("chave"), Mockito.anyString(),
+				Mockito.any())).thenAnswer(invocacao -> {
+					if (gravada[0] == null) {
+						Supplier<Idempotencia> operacao = invocacao.getArgument(3);
+						gravada[0] = operacao.get();
+					}
+					return gravada[0];
+				});
+		String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.post(API).header(LancamentoResource.IDEMPOTENCY_KEY, "chave"))
+				.contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isCreated())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0\""))
+				.andExpect(MockMvcResultMatchers.header().doesNotExist(LancamentoResource.IDEMPOTENT_REPLAYED))
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(1));
+
+		mvc.perform(autenticado(MockMvcRequestBuilders.post(API).header(LancamentoResource.IDEMPOTENCY_KEY, "chave"))
+				.contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isCreated())
+				.andExpect(MockMvcResultMatchers.header().string(LancamentoResource.IDEMPOTENT_REPLAYED, "true"))
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(1));
+
+		Mockito.verify(service, Mockito.times(1)).salvar(Mockito.any(Lancamento.class));
+	}
+
+	@Test
+	public void deveRetornarConflitoEnquantoARequisicaoOriginalEstiverEmAndamento() throws Exception {
+		//Cenário
+		Mockito.when(idempotenciaService.executar(Mockito.anyLong(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
+				.thenThrow(new IdempotenciaException("em andamento", true));
+		String json = new ObjectMapper().writeValueAsString(criarDTO());
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.post(API).header(LancamentoResource.IDEMPOTENCY_KEY, "chave"))
+				.contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isConflict());
+
+		Mockito.verify(service, Mockito.never()).salvar(Mockito.any());
+	}
+
+	@Test
+	public void deveRetornarAsAlteracoesDepoisDoCursor() throws Exception {
+		//Cenário
+		Mockito.when(eventoService.buscarAlteracoes(ID_USUARIO, 10L, 100)).thenReturn(Arrays.asList(
+				EventoLancamento.builder().posicao(11L).idLancamento(1L).tipoEvento(TipoEvento.CRIADO).versao(0L).build(),
+				EventoLancamento.builder().posicao(14L).idLancamento(1L).tipoEvento(TipoEvento.EXCLUIDO).versao(0L).build()));
+
+		//Ação e Verificação
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API.concat("/changes")).param("since", "10")))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("eventos[0].posicao").value(11))
+				.andExpect(MockMvcResultMatchers.jsonPath("eventos[1].tipoEvento").value("EXCLUIDO"))
+				.andExpect(MockMvcResultMatchers.jsonPath("cursor").value(14));
+
+		mvc.perform(autenticado(MockMvcRequestBuilders.get(API.concat("/changes")).param("since", "14")))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("eventos").isEmpty())
+				.andExpect(MockMvcResultMatchers.jsonPath("cursor").value(14));
+	}
+
+	private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder request) {
+		return request.accept(JSON).requestAttr(AutenticacaoFilter.USUARIO, ID_USUARIO);
+	}
+
+	private Lancamento criarLancamento(Long versao) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(new Usuario(ID_USUARIO));
+		lancamento.setVersao(versao);
+		return lancamento;
+	}
+
+	private LancamentoDTO criarDTO() {
+		return LancamentoDTO.builder().descricao("Conta de Luz").mes(1).ano(2023).valor(BigDecimal.valueOf(10))
+				.tipo("DESPESA").status("PENDENTE").build();
+	}
+}
@@ -1,5 +1,8 @@
 package com.gupan.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -18,9 +21,11 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gupan.minhasfinancas.api.dto.UsuarioDTO;
+import com.gupan.minhasfinancas.config.AutenticacaoFilter;
 import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
 import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.service.JwtService;
 import com.gupan.minhasfinancas.service.LancamentoService;
 import com.gupan.minhasfinancas.service.UsuarioService;
 
@@ -42,6 +47,9 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	JwtService jwtService;
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		//Cenário
@@ -52,6 +60,7 @@ public class UsuarioResourceTest {
 		Usuario usuario = Usuario.builder().id(1L).email(email).senha(senha).build();
 		
 		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(jwtService.gerarToken(usuario)).thenReturn("token");
 		
 		String json = new ObjectMapper().writeValueAsString(dto);
 		
@@ -63,7 +72,8 @@ public class UsuarioResourceTest {
 		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
-		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()));
+		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
+		.andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
 	}
 	
 	@Test
@@ -130,4 +140,21 @@ public class UsuarioResourceTest {
 		
 		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
+
+	@Test
+	public void deveObterOSaldoDoUsuarioDoToken() throws Exception {
+		//Cenário
+		Usuario usuario = Usuario.builder().id(1L).build();
+		Mockito.when(service.obterPorId(1L)).thenReturn(Optional.of(usuario));
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(BigDecimal.valueOf(150));
+
+		//Ação e Verificação
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/saldo"))
+		.accept(JSON)
+		.requestAttr(AutenticacaoFilter.USUARIO, 1L);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.content().string("150"));
+		Mockito.verify(lancamentoService).obterSaldoPorUsuario(1L);
+	}
 }
@@ -0,0 +1,88 @@
+package com.gupan.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
+import com.gupan.minhasfinancas.service.JwtService;
+
+public class AutenticacaoFilterTest {
+
+	JwtService jwtService = Mockito.mock(JwtService.class);
+
+	@Test
+	public void deveRecusarRequisicaoSemToken() throws Exception {
+		//Cenário
+		AutenticacaoFilter filtro = new AutenticacaoFilter(jwtService);
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		MockFilterChain cadeia = new MockFilterChain();
+
+		//Ação
+		filtro.doFilter(new MockHttpServletRequest("GET", "/api/usuarios/saldo"), resposta, cadeia);
+
+		//Verificação
+		assertThat(resposta.getStatus()).isEqualTo(401);
+		assertThat(cadeia.getRequest()).isNull();
+	}
+
+	@Test
+	public void deveRecusarTokenInvalido() throws Exception {
+		//Cenário
+		Mockito.when(jwtService.obterIdUsuario("invalido")).thenThrow(new ErroAutenticacaoException("Token inválido."));
+		AutenticacaoFilter filtro = new AutenticacaoFilter(jwtService);
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+
+		//Ação
+		filtro.doFilter(requisicao("invalido"), resposta, new MockFilterChain());
+
+		//Verificação
+		assertThat(resposta.getStatus()).isEqualTo(401);
+		assertThat(resposta.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+	}
+
+	@Test
+	public void deveRecusarUsuarioForaDosAdministradores() throws Exception {
+		//Cenário
+		Mockito.when(jwtService.obterIdUsuario("token")).thenReturn(2L);
+		AutenticacaoFilter filtro = new AutenticacaoFilter(jwtService, Collections.singleton(1L));
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		MockFilterChain cadeia = new MockFilterChain();
+
+		//Ação
+		filtro.doFilter(requisicao("token"), resposta, cadeia);
+
+		//Verificação
+		assertThat(resposta.getStatus()).isEqualTo(403);
+		assertThat(cadeia.getRequest()).isNull();
+	}
+
+	@Test
+	public void deveRepassarOUsuarioDoTokenDeUmAdministrador() throws Exception {
+		//Cenário
+		Mockito.when(jwtService.obterIdUsuario("token")).thenReturn(1L);
+		AutenticacaoFilter filtro = new AutenticacaoFilter(jwtService, Collections.singleton(1L));
+		MockHttpServletRequest requisicao = requisicao("token");
+		MockFilterChain cadeia = new MockFilterChain();
+
+		//Ação
+		filtro.doFilter(requisicao, new MockHttpServletResponse(), cadeia);
+
+		//Verificação
+		assertThat(cadeia.getRequest()).isSameAs(requisicao);
+		assertThat(requisicao.getAttribute(AutenticacaoFilter.USUARIO)).isEqualTo(1L);
+	}
+
+	private MockHttpServletRequest requisicao(String token) {
+		MockHttpServletRequest requisicao = new MockHttpServletRequest("POST", "/api/saldos/recalcular");
+		requisicao.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		return requisicao;
+	}
+}
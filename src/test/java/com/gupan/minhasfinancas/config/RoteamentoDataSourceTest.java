@@ -0,0 +1,113 @@
+package com.gupan.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class RoteamentoDataSourceTest {
+
+	DataSource primario = criarBanco("primario");
+
+	DataSource replica = criarBanco("replica");
+
+	LeituraPropria leituraPropria = new LeituraPropria(5000);
+
+	RoteamentoDataSource roteamento;
+
+	JdbcTemplate jdbcTemplate;
+
+	TransactionTemplate leitura;
+
+	TransactionTemplate escrita;
+
+	@BeforeEach
+	public void setUp() {
+		new JdbcTemplate(replica).update("update atraso set ms = 0");
+		roteamento = new RoteamentoDataSource(primario, Collections.singletonList(replica), leituraPropria,
+				"select ms from atraso", 1000);
+		roteamento.afterPropertiesSet();
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+		DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		leitura = new TransactionTemplate(transacoes);
+		leitura.setReadOnly(true);
+		escrita = new TransactionTemplate(transacoes);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		roteamento.close();
+	}
+
+	@Test
+	public void deveEnviarAsTransacoesSomenteLeituraParaAReplica() {
+		//Ação
+		String banco = bancoAtual(leitura);
+
+		//Verificação
+		assertThat(banco).isEqualTo("REPLICA");
+	}
+
+	@Test
+	public void deveEnviarAsEscritasParaOPrimario() {
+		//Ação
+		String banco = bancoAtual(escrita);
+
+		//Verificação
+		assertThat(banco).isEqualTo("PRIMARIO");
+	}
+
+	@Test
+	public void deveLerDoPrimarioLogoAposAEscrita() {
+		//Ação
+		String banco = leituraPropria.noPrimario(() -> bancoAtual(leitura));
+
+		//Verificação
+		assertThat(banco).isEqualTo("PRIMARIO");
+		assertThat(bancoAtual(leitura)).isEqualTo("REPLICA");
+	}
+
+	@Test
+	public void deveRetirarDoRodizioAReplicaAtrasada() {
+		//Cenário
+		new JdbcTemplate(replica).update("update atraso set ms = 5000");
+
+		//Ação
+		roteamento.verificarReplicas();
+
+		//Verificação
+		assertThat(roteamento.getReplicasDisponiveis()).isEmpty();
+		assertThat(bancoAtual(leitura)).isEqualTo("PRIMARIO");
+
+		new JdbcTemplate(replica).update("update atraso set ms = 10");
+		roteamento.verificarReplicas();
+		assertThat(roteamento.getReplicasDisponiveis()).containsExactly("replica-0");
+		assertThat(bancoAtual(leitura)).isEqualTo("REPLICA");
+	}
+
+	private String bancoAtual(TransactionTemplate transacao) {
+		return transacao.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+	}
+
+	private static DataSource criarBanco(String nome) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table if not exists atraso (ms bigint)");
+		if (jdbcTemplate.queryForObject("select count(*) from atraso", Integer.class) == 0) {
+			jdbcTemplate.update("insert into atraso values (0)");
+		}
+		return dataSource;
+	}
+}
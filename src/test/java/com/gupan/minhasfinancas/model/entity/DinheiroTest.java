@@ -0,0 +1,60 @@
+package com.gupan.minhasfinancas.model.entity;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DinheiroTest {
+
+	@Test
+	public void deveArredondarParaCentavos() {
+		//Ação
+		Dinheiro valor = Dinheiro.de(new BigDecimal("10.005"));
+
+		//Verificação
+		assertThat(valor.getCentavos()).isEqualTo(1001);
+		assertThat(valor.toBigDecimal()).isEqualTo(new BigDecimal("10.01"));
+		assertThat(Dinheiro.de(new BigDecimal("10.1"))).isEqualTo(Dinheiro.deCentavos(1010));
+	}
+
+	@Test
+	public void deveSomarESubtrair() {
+		//Cenário
+		Dinheiro receitas = Dinheiro.de(new BigDecimal("1500.25"));
+		Dinheiro despesas = Dinheiro.de(new BigDecimal("0.75"));
+
+		//Ação
+		Dinheiro saldo = receitas.subtrair(despesas).somar(despesas.negar());
+
+		//Verificação
+		assertThat(saldo.toString()).isEqualTo("1498.75");
+	}
+
+	@Test
+	public void deveLancarErroAoEstourar() {
+		//Cenário
+		Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+
+		//Ação e Verificação
+		assertThatThrownBy(() -> maximo.somar(Dinheiro.deCentavos(1))).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Dinheiro.deCentavos(Long.MIN_VALUE).negar()).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Dinheiro.de(new BigDecimal("1e20"))).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	public void deveSerializarComoNumero() throws Exception {
+		//Cenário
+		ObjectMapper mapper = new ObjectMapper();
+
+		//Ação
+		String json = mapper.writeValueAsString(Dinheiro.de(new BigDecimal("42.5")));
+
+		//Verificação
+		assertThat(json).isEqualTo("42.50");
+		assertThat(mapper.readValue("42.5", Dinheiro.class)).isEqualTo(Dinheiro.deCentavos(4250));
+	}
+}
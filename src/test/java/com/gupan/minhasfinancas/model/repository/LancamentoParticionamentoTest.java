@@ -0,0 +1,104 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+public class LancamentoParticionamentoTest {
+
+	static EmbeddedPostgres postgres;
+
+	@BeforeAll
+	static void migrar() throws IOException, SQLException {
+		// o PostgreSQL se recusa a iniciar com o usuário root
+		assumeFalse("root".equals(System.getProperty("user.name")));
+		postgres = EmbeddedPostgres.start();
+		Flyway.configure().dataSource(postgres.getPostgresDatabase()).schemas("financas").load().migrate();
+
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+			comando.execute("insert into financas.usuario (nome, email, senha) values ('usuario', 'usuario@email.com', 'senha')");
+			comando.execute("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario) "
+					+ "select g, 'lancamento ' || g, 1 + g % 12, 2010 + g % 20, 10, 'DESPESA', 'PENDENTE', 1 "
+					+ "from generate_series(1, 20000) g");
+			comando.execute("analyze financas.lancamento");
+		}
+	}
+
+	@Test
+	public void deveLerSomenteAParticaoDoAnoConsultado() throws SQLException {
+		//Ação
+		String plano = explicar("explain select * from financas.lancamento where id_usuario = 1 and ano = 2024");
+
+		//Verificação
+		assertThat(plano).contains("lancamento_2024").doesNotContain("lancamento_2023")
+				.doesNotContain("lancamento_2025").doesNotContain("lancamento_historico");
+	}
+
+	@Test
+	public void deveLerSomenteAsParticoesDoPeriodo() throws SQLException {
+		//Ação
+		String plano = explicar("explain select * from financas.lancamento where id_usuario = 1 "
+				+ "and ano >= 2023 and (ano, mes) >= (2023, 6) and ano <= 2024 and (ano, mes) <= (2024, 3) "
+				+ "order by ano, mes, id");
+
+		//Verificação
+		assertThat(plano).contains("lancamento_2023").contains("lancamento_2024")
+				.doesNotContain("lancamento_2022").doesNotContain("lancamento_2025");
+	}
+
+	@Test
+	public void deveDescartarAsParticoesNaExecucaoDaConsultaPreparada() throws SQLException {
+		//Cenário
+		// o comando sem nome do driver é planejado já com os parâmetros; o plano genérico só é usado
+		// por um statement preparado no servidor, como os que o driver reaproveita após prepareThreshold
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+			comando.execute("set plan_cache_mode = force_generic_plan");
+			comando.execute("prepare consulta (bigint, integer) as "
+					+ "select * from financas.lancamento where id_usuario = $1 and ano = $2");
+
+			//Ação
+			String plano = ler(comando.executeQuery("explain (analyze) execute consulta (1, 2024)"));
+
+			//Verificação
+			assertThat(plano).contains("Subplans Removed").contains("lancamento_2024")
+					.doesNotContain("lancamento_2023");
+		}
+	}
+
+	@AfterAll
+	static void encerrar() throws IOException {
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	private String explicar(String sql) throws SQLException {
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+			return ler(comando.executeQuery(sql));
+		}
+	}
+
+	private static String ler(ResultSet linhas) throws SQLException {
+		StringBuilder plano = new StringBuilder();
+		while (linhas.next()) {
+			plano.append(linhas.getString(1)).append('\n');
+		}
+		return plano.toString();
+	}
+
+	private static Connection conectar() throws SQLException {
+		return postgres.getPostgresDatabase().getConnection();
+	}
+}
@@ -2,9 +2,16 @@ package com.gupan.minhasfinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +22,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
 import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.entity.Usuario;
 import com.gupan.minhasfinancas.model.enums.StatusLancamento;
 import com.gupan.minhasfinancas.model.enums.TipoLancamento;
 
@@ -93,6 +104,271 @@ public class LancamentoRepositoryTest {
 		assertThat(result.isPresent()).isTrue();
 	}
 	
+	@Test
+	public void deveBuscarAsPaginasPeloCursorDeAnoMesEId() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento dezembro = criarEPersistirLancamento(usuario, 2022, 12);
+		Lancamento janeiro = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento outroJaneiro = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento fevereiro = criarEPersistirLancamento(usuario, 2023, 2);
+		Lancamento filtro = Lancamento.builder().usuario(usuario).build();
+		
+		//Ação
+		List<ItemLancamentoDTO> primeiraPagina = repository.buscarPagina(filtro, null, 2);
+		ItemLancamentoDTO ultimo = primeiraPagina.get(1);
+		List<ItemLancamentoDTO> segundaPagina = repository.buscarPagina(filtro,
+				Lancamento.builder().id(ultimo.getId()).ano(ultimo.getAno()).mes(ultimo.getMes()).build(), 2);
+		
+		//Verificação
+		assertThat(primeiraPagina).extracting(ItemLancamentoDTO::getId).containsExactly(dezembro.getId(), janeiro.getId());
+		assertThat(segundaPagina).extracting(ItemLancamentoDTO::getId).containsExactly(outroJaneiro.getId(), fevereiro.getId());
+	}
+	
+	@Test
+	public void devePercorrerOsLancamentosFiltrados() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		criarEPersistirLancamento(usuario, 2022, 12);
+		Lancamento janeiro = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento filtro = Lancamento.builder().usuario(usuario).ano(2023).descricao("LUZ").build();
+		List<Long> ids = new ArrayList<>();
+		
+		//Ação
+		repository.percorrer(filtro, lancamento -> ids.add(lancamento.getId()));
+		
+		//Verificação
+		assertThat(ids).containsExactly(janeiro.getId());
+	}
+	
+	@Test
+	public void deveExportarOsLancamentosDoPeriodoEmOrdem() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		criarEPersistirLancamento(usuario, 2022, 11);
+		Lancamento dezembro = criarEPersistirLancamento(usuario, 2022, 12);
+		Lancamento fevereiro = criarEPersistirLancamento(usuario, 2023, 2);
+		Lancamento janeiro = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento cancelado = criarEPersistirLancamento(usuario, 2023, 1);
+		cancelado.setStatus(StatusLancamento.CANCELADO);
+		criarEPersistirLancamento(usuario, 2023, 3);
+		entityManager.flush();
+		Lancamento filtro = Lancamento.builder().usuario(usuario).status(StatusLancamento.PENDENTE).build();
+		List<Lancamento> exportados = new ArrayList<>();
+		
+		//Ação
+		repository.exportar(filtro, YearMonth.of(2022, 12), YearMonth.of(2023, 2), exportados::add);
+		
+		//Verificação
+		assertThat(exportados).extracting(Lancamento::getId)
+				.containsExactly(dezembro.getId(), janeiro.getId(), fevereiro.getId());
+		assertThat(exportados.get(0).getUsuario()).isNull();
+		assertThat(exportados.get(0).getDescricao()).isEqualTo("Conta de Luz");
+		assertThat(exportados.get(0).getValor()).isEqualByComparingTo(BigDecimal.valueOf(10));
+	}
+	
+	@Test
+	public void devePercorrerOsValoresEmCentavosDaFaixaDeUsuarios() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento receita = criarEPersistirLancamento(usuario, 2023, 1);
+		receita.setTipo(TipoLancamento.RECEITA);
+		receita.setValor(new BigDecimal("1500.75"));
+		criarEPersistirLancamento(usuario, 2023, 2);
+		entityManager.flush();
+		List<Long> valores = new ArrayList<>();
+		
+		//Ação
+		repository.percorrerValores(usuario.getId(), usuario.getId() + 1,
+				(idUsuario, ehReceita, centavos) -> valores.add(ehReceita ? centavos : -centavos));
+		repository.percorrerValores(usuario.getId() + 1, usuario.getId() + 10,
+				(idUsuario, ehReceita, centavos) -> valores.add(0L));
+		
+		//Verificação
+		assertThat(valores).containsExactlyInAnyOrder(150075L, -1000L);
+	}
+	
+	@Test
+	public void deveListarComUmaUnicaInstrucaoSemCarregarOUsuario() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		criarEPersistirLancamento(usuario, 2023, 1);
+		criarEPersistirLancamento(usuario, 2023, 2);
+		entityManager.flush();
+		entityManager.clear();
+		Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		Lancamento filtro = Lancamento.builder().usuario(new Usuario(usuario.getId())).ano(2023).build();
+		
+		//Ação
+		List<ItemLancamentoDTO> result = repository.listar(filtro);
+		
+		//Verificação
+		assertThat(result).hasSize(2);
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(estatisticas.getEntityLoadCount()).isZero();
+	}
+	
+	@Test
+	public void deveCarregarOUsuarioDoLancamentoSomenteQuandoAcessado() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarEPersistirLancamento(usuario, 2023, 1);
+		entityManager.flush();
+		entityManager.clear();
+		Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		
+		//Ação
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		
+		//Verificação
+		assertThat(encontrado.getUsuario().getId()).isEqualTo(usuario.getId());
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(estatisticas.getEntityLoadCount()).isEqualTo(1);
+	}
+	
+	@Test
+	public void deveCompararOLancamentoSemCarregarOUsuario() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarEPersistirLancamento(usuario, 2023, 1);
+		entityManager.flush();
+		entityManager.clear();
+		Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+		entityManager.clear();
+		Lancamento outro = repository.findById(lancamento.getId()).get();
+		
+		//Ação
+		boolean iguais = encontrado.equals(outro) && encontrado.hashCode() == outro.hashCode();
+		
+		//Verificação
+		assertThat(iguais).isTrue();
+		assertThat(Hibernate.isInitialized(encontrado.getUsuario())).isFalse();
+		assertThat(Hibernate.isInitialized(outro.getUsuario())).isFalse();
+		assertThat(estatisticas.getEntityLoadCount()).isEqualTo(2);
+	}
+	
+	@Test
+	public void deveFiltrarApenasPelosCamposInformados() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento antigo = criarLancamento();
+		antigo.setUsuario(usuario);
+		antigo.setDataCadastro(LocalDate.now().minusYears(1));
+		entityManager.persist(antigo);
+		criarEPersistirLancamento(usuario, 2022, 1);
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2023);
+		filtro.setDescricao("de luz");
+		
+		//Ação
+		List<Lancamento> result = repository.findAll(LancamentoSpecification.filtrar(filtro), LancamentoSpecification.ORDENACAO);
+		
+		//Verificação
+		assertThat(result).containsExactly(antigo);
+	}
+	
+	@Test
+	public void deveObterOEstadoGravadoSemAsAlteracoesPendentes() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento lancamento = criarEPersistirLancamento(usuario, 2023, 1);
+		entityManager.flush();
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		lancamento.setValor(BigDecimal.valueOf(50));
+		
+		//Ação
+		Optional<Lancamento> gravado = repository.obterEstadoGravado(lancamento.getId());
+		
+		//Verificação
+		assertThat(gravado.get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(gravado.get().getValor()).isEqualByComparingTo(BigDecimal.valueOf(10));
+		assertThat(gravado.get().getUsuario().getId()).isEqualTo(usuario.getId());
+	}
+	
+	@Test
+	public void deveCalcularOResumoMensalComUmUnicoAgrupamento() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		criarEPersistirLancamento(usuario, 2022, 12);
+		criarEPersistirLancamento(usuario, 2023, 1);
+		criarEPersistirLancamento(usuario, 2023, 1);
+		
+		//Ação
+		List<ResumoMensal> resumo = repository.calcularResumo(usuario.getId(), 2023, 2023);
+		
+		//Verificação
+		assertThat(resumo).hasSize(1);
+		assertThat(resumo.get(0).getQuantidade()).isEqualTo(2L);
+		assertThat(resumo.get(0).getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(20)));
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteApenasDosPendentesDoFiltro() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento pendente = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento outroPendente = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento cancelado = criarEPersistirLancamento(usuario, 2023, 1);
+		cancelado.setStatus(StatusLancamento.CANCELADO);
+		Lancamento outroMes = criarEPersistirLancamento(usuario, 2023, 2);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2023);
+		filtro.setMes(1);
+		filtro.setStatus(StatusLancamento.PENDENTE);
+
+		//Ação
+		List<ResumoMensal> resumo = repository.resumirLote(filtro, null);
+		int atualizados = repository.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO);
+		entityManager.clear();
+
+		//Verificação
+		assertThat(resumo).hasSize(1);
+		assertThat(resumo.get(0).getQuantidade()).isEqualTo(2L);
+		assertThat(resumo.get(0).getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(20)));
+		assertThat(atualizados).isEqualTo(2);
+		assertThat(entityManager.find(Lancamento.class, pendente.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(entityManager.find(Lancamento.class, outroPendente.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(entityManager.find(Lancamento.class, cancelado.getId()).getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+		assertThat(entityManager.find(Lancamento.class, outroMes.getId()).getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteSomenteDosIdsDoUsuario() {
+		//Cenário
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outroUsuario = UsuarioRepositoryTest.criarUsuario();
+		outroUsuario.setEmail("outro@email.com");
+		entityManager.persist(outroUsuario);
+		Lancamento doUsuario = criarEPersistirLancamento(usuario, 2023, 1);
+		Lancamento deOutroUsuario = criarEPersistirLancamento(outroUsuario, 2023, 1);
+		entityManager.flush();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setStatus(StatusLancamento.PENDENTE);
+
+		//Ação
+		int atualizados = repository.atualizarStatusEmLote(filtro,
+				Arrays.asList(doUsuario.getId(), deOutroUsuario.getId()), StatusLancamento.CANCELADO);
+		entityManager.clear();
+
+		//Verificação
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(entityManager.find(Lancamento.class, doUsuario.getId()).getStatus()).isEqualTo(StatusLancamento.CANCELADO);
+		assertThat(entityManager.find(Lancamento.class, deOutroUsuario.getId()).getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+	
 	public static Lancamento criarLancamento() {
 		Lancamento lancamento = Lancamento.builder()
 				.ano(2023)
@@ -112,5 +388,13 @@ public class LancamentoRepositoryTest {
 		entityManager.persist(lancamento);
 		return lancamento;
 	}
+	
+	private Lancamento criarEPersistirLancamento(Usuario usuario, int ano, int mes) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		return entityManager.persist(lancamento);
+	}
 
 }
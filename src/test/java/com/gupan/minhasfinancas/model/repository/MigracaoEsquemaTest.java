@@ -0,0 +1,132 @@
+package com.gupan.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+public class MigracaoEsquemaTest {
+
+	static EmbeddedPostgres postgres;
+
+	@BeforeAll
+	static void migrarBaseExistente() throws IOException, SQLException {
+		// o PostgreSQL se recusa a iniciar com o usuário root
+		assumeFalse("root".equals(System.getProperty("user.name")));
+		postgres = EmbeddedPostgres.start();
+
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+			// base criada pelo antigo database.sql, antes do Flyway
+			comando.execute("create schema financas");
+			comando.execute("create table financas.usuario (id bigserial NOT NULL PRIMARY KEY, nome varchar(150), "
+					+ "email varchar(100), senha varchar(20), data_cadastro date default now())");
+			comando.execute("create table financas.lancamento (id bigserial NOT NULL PRIMARY KEY, "
+					+ "descricao varchar(100) NOT NULL, mes integer NOT NULL, ano integer NOT NULL, valor numeric(16,2), "
+					+ "tipo varchar(20) check (tipo in ('RECEITA', 'DESPESA')) NOT NULL, "
+					+ "status varchar(20) check (status in ('PENDENTE', 'CANCELADO', 'EFETIVADO')) NOT NULL, "
+					+ "id_usuario bigint REFERENCES financas.usuario (id), data_cadastro date default now())");
+			comando.execute("insert into financas.usuario (nome, email, senha) values "
+					+ "('usuario', 'usuario@email.com', 'senha'), ('outro', 'outro@email.com', 'senha')");
+			comando.execute("insert into financas.lancamento (descricao, mes, ano, valor, tipo, status, id_usuario) values "
+					+ "('salario', 1, 2020, 1000, 'RECEITA', 'EFETIVADO', 1), "
+					+ "('aluguel', 1, 2020, 400, 'DESPESA', 'PENDENTE', 1), "
+					+ "('mercado', 2, 2024, 150.50, 'DESPESA', 'PENDENTE', 1), "
+					+ "('bonus', 3, 2024, 300, 'RECEITA', 'PENDENTE', 2)");
+		}
+
+		Flyway.configure().dataSource(postgres.getPostgresDatabase()).schemas("financas").baselineOnMigrate(true)
+				.baselineVersion("0").load().migrate();
+	}
+
+	@AfterAll
+	static void encerrar() throws IOException {
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	public void deveManterOsLancamentosNaTabelaParticionada() throws SQLException {
+		//Ação
+		long quantidade = consultarNumero("select count(*) from financas.lancamento").longValue();
+		long particionada = consultarNumero("select count(*) from pg_partitioned_table p "
+				+ "join pg_class c on c.oid = p.partrelid where c.relname = 'lancamento'").longValue();
+
+		//Verificação
+		assertThat(quantidade).isEqualTo(4);
+		assertThat(particionada).isEqualTo(1);
+	}
+
+	@Test
+	public void deveCalcularOsSaldosDosLancamentosExistentes() throws SQLException {
+		//Ação
+		BigDecimal receitas = consultarNumero("select receitas from financas.saldo_usuario where id_usuario = 1");
+		BigDecimal despesas = consultarNumero("select despesas from financas.saldo_usuario where id_usuario = 1");
+		BigDecimal outro = consultarNumero("select receitas - despesas from financas.saldo_usuario where id_usuario = 2");
+
+		//Verificação
+		assertThat(receitas).isEqualByComparingTo("1000");
+		assertThat(despesas).isEqualByComparingTo("550.50");
+		assertThat(outro).isEqualByComparingTo("300");
+	}
+
+	@Test
+	public void deveCalcularOsResumosMensaisDosLancamentosExistentes() throws SQLException {
+		//Ação
+		long meses = consultarNumero("select count(*) from financas.resumo_mensal where id_usuario = 1").longValue();
+		BigDecimal total = consultarNumero("select total from financas.resumo_mensal "
+				+ "where id_usuario = 1 and ano = 2024 and mes = 2 and tipo = 'DESPESA' and status = 'PENDENTE'");
+
+		//Verificação
+		assertThat(meses).isEqualTo(3);
+		assertThat(total).isEqualByComparingTo("150.50");
+	}
+
+	@Test
+	public void deveAlocarIdsAcimaDosExistentes() throws SQLException {
+		//Ação
+		long proximo = consultarNumero("select nextval('financas.lancamento_id_seq')").longValue();
+
+		//Verificação: o otimizador pooled usa o bloco que termina no valor retornado
+		assertThat(proximo - 49).isGreaterThan(4);
+	}
+
+	@Test
+	public void deveAceitarVersaoESenhaComHash() throws SQLException {
+		//Cenário
+		String senha = "{bcrypt}$2a$10$" + "x".repeat(53);
+
+		//Ação
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+			comando.execute("update financas.usuario set senha = '" + senha + "', versao = versao + 1 where id = 2");
+		}
+
+		//Verificação
+		assertThat(consultarNumero("select versao from financas.usuario where id = 2")).isEqualByComparingTo("1");
+		assertThat(consultarNumero("select versao from financas.lancamento where id = 1")).isEqualByComparingTo("0");
+	}
+
+	private static BigDecimal consultarNumero(String sql) throws SQLException {
+		try (Connection conexao = conectar(); Statement comando = conexao.createStatement();
+				ResultSet linhas = comando.executeQuery(sql)) {
+			linhas.next();
+			return linhas.getBigDecimal(1);
+		}
+	}
+
+	private static Connection conectar() throws SQLException {
+		return postgres.getPostgresDatabase().getConnection();
+	}
+}
@@ -0,0 +1,149 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gupan.minhasfinancas.config.CacheCompartilhado;
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.service.impl.CacheConsultaServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class CacheConsultaServiceTest {
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CacheCompartilhado cacheCompartilhado() {
+			return new CacheCompartilhado(new ConcurrentMapCacheManager());
+		}
+
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@SpyBean
+	CacheConsultaServiceImpl service;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	CacheCompartilhado cacheCompartilhado;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Test
+	public void deveConsultarOBancoUmaUnicaVezPorFiltro() {
+		//Cenário
+		AtomicInteger consultas = new AtomicInteger();
+		double locais = contagem(CacheConsultaServiceImpl.LOCAL);
+		double noBanco = contagem(CacheConsultaServiceImpl.BANCO);
+
+		//Ação
+		service.obter(CacheConfig.SALDOS, 10L, "saldo", () -> BigDecimal.valueOf(consultas.incrementAndGet()));
+		BigDecimal saldo = service.obter(CacheConfig.SALDOS, 10L, "saldo", () -> BigDecimal.valueOf(consultas.incrementAndGet()));
+
+		//Verificação
+		assertThat(saldo).isEqualTo(BigDecimal.ONE);
+		assertThat(consultas).hasValue(1);
+		assertThat(contagem(CacheConsultaServiceImpl.LOCAL) - locais).isEqualTo(1);
+		assertThat(contagem(CacheConsultaServiceImpl.BANCO) - noBanco).isEqualTo(1);
+	}
+
+	@Test
+	public void deveInvalidarSomenteAsConsultasDoUsuario() {
+		//Cenário
+		AtomicInteger consultas = new AtomicInteger();
+		service.obter(CacheConfig.LANCAMENTOS, 1L, "2023", () -> consultas.incrementAndGet());
+		service.obter(CacheConfig.LANCAMENTOS, 11L, "2023", () -> consultas.incrementAndGet());
+
+		//Ação
+		service.invalidar(1L);
+
+		//Verificação
+		assertThat(chavesLocais()).noneMatch(chave -> chave.toString().startsWith("1:"));
+		assertThat(service.obter(CacheConfig.LANCAMENTOS, 11L, "2023", () -> consultas.incrementAndGet())).isEqualTo(2);
+		assertThat(service.obter(CacheConfig.LANCAMENTOS, 1L, "2023", () -> consultas.incrementAndGet())).isEqualTo(3);
+	}
+
+	@Test
+	public void deveInvalidarAsConsultasDasOutrasInstancias() {
+		//Cenário
+		CacheConsultaService outraInstancia = new CacheConsultaServiceImpl(new ConcurrentMapCacheManager(),
+				Optional.of(cacheCompartilhado), Optional.empty(), registry);
+		AtomicInteger consultas = new AtomicInteger();
+		double compartilhados = contagem(CacheConsultaServiceImpl.COMPARTILHADO);
+		service.obter(CacheConfig.LANCAMENTOS, 2L, "2023", () -> consultas.incrementAndGet());
+
+		//Ação
+		Integer daOutraInstancia = outraInstancia.obter(CacheConfig.LANCAMENTOS, 2L, "2023", () -> consultas.incrementAndGet());
+		service.invalidar(2L);
+		Integer depoisDaInvalidacao = outraInstancia.obter(CacheConfig.LANCAMENTOS, 2L, "2023", () -> consultas.incrementAndGet());
+
+		//Verificação
+		assertThat(daOutraInstancia).isEqualTo(1);
+		assertThat(contagem(CacheConsultaServiceImpl.COMPARTILHADO) - compartilhados).isEqualTo(1);
+		assertThat(depoisDaInvalidacao).isEqualTo(2);
+	}
+
+	@Test
+	public void deveInvalidarSomenteDepoisDoCommit() {
+		//Cenário
+		AtomicInteger consultas = new AtomicInteger();
+		service.obter(CacheConfig.SALDOS, 3L, "saldo", () -> consultas.incrementAndGet());
+
+		//Ação
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.invalidar(3L);
+			Integer antesDoCommit = service.obter(CacheConfig.SALDOS, 3L, "saldo", () -> consultas.incrementAndGet());
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+			//Verificação
+			assertThat(antesDoCommit).isEqualTo(1);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThat(service.obter(CacheConfig.SALDOS, 3L, "saldo", () -> consultas.incrementAndGet())).isEqualTo(2);
+	}
+
+	private double contagem(String origem) {
+		return registry.find(CacheConsultaServiceImpl.METRICA).tag("origem", origem).counters().stream()
+				.mapToDouble(contador -> contador.count()).sum();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Iterable<Object> chavesLocais() {
+		return ((Map<Object, Object>) cacheManager.getCache(CacheConfig.LANCAMENTOS).getNativeCache()).keySet();
+	}
+}
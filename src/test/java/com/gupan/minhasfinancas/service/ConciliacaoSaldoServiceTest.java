@@ -0,0 +1,151 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gupan.minhasfinancas.api.dto.ConciliacaoSaldoDTO;
+import com.gupan.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.SaldoUsuario;
+import com.gupan.minhasfinancas.model.enums.SituacaoConciliacao;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryCustom.ConsumidorValor;
+import com.gupan.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.gupan.minhasfinancas.model.repository.UsuarioRepository;
+import com.gupan.minhasfinancas.service.impl.ConciliacaoSaldoServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "minhasfinancas.conciliacao.tamanho-faixa=2")
+public class ConciliacaoSaldoServiceTest {
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+		public TaskExecutor applicationTaskExecutor() {
+			return new SimpleAsyncTaskExecutor();
+		}
+	}
+
+	@SpyBean
+	ConciliacaoSaldoServiceImpl service;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	SaldoUsuarioRepository saldoRepository;
+
+	@MockBean
+	UsuarioRepository usuarioRepository;
+
+	@MockBean
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	public void deveApontarOsSaldosDivergentesDeTodasAsFaixas() throws Exception {
+		//Cenário
+		Mockito.when(usuarioRepository.obterFaixaIds()).thenReturn(Collections.singletonList(new Object[] { 1L, 5L }));
+		long[][] lancamentos = { { 1, 1, 10000 }, { 1, 0, 2500 }, { 2, 1, 500 }, { 5, 0, 1000 } };
+		Mockito.doAnswer(invocacao -> {
+			long inicial = invocacao.getArgument(0);
+			long fim = invocacao.getArgument(1);
+			ConsumidorValor consumidor = invocacao.getArgument(2);
+			for (long[] lancamento : lancamentos) {
+				if (lancamento[0] >= inicial && lancamento[0] < fim) {
+					consumidor.aceitar(lancamento[0], lancamento[1] == 1, lancamento[2]);
+				}
+			}
+			return null;
+		}).when(lancamentoRepository).percorrerValores(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(),
+				ArgumentMatchers.any());
+		List<SaldoUsuario> saldos = Arrays.asList(saldo(1L, "100", "25"), saldo(3L, "0", "10"), saldo(5L, "0", "10"));
+		Mockito.when(saldoRepository.buscarFaixa(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong()))
+				.thenAnswer(invocacao -> saldos.stream()
+						.filter(s -> s.getIdUsuario() >= (Long) invocacao.getArgument(0)
+								&& s.getIdUsuario() < (Long) invocacao.getArgument(1))
+						.collect(Collectors.toList()));
+
+		//Ação
+		service.iniciar();
+		ConciliacaoSaldoDTO resultado = aguardarConclusao();
+
+		//Verificação
+		assertThat(resultado.getSituacao()).isEqualTo(SituacaoConciliacao.CONCLUIDA.name());
+		assertThat(resultado.getFaixas()).isEqualTo(3);
+		assertThat(resultado.getFaixasConcluidas()).isEqualTo(3);
+		assertThat(resultado.getLancamentosLidos()).isEqualTo(4);
+		assertThat(resultado.getUsuariosVerificados()).isEqualTo(4);
+		assertThat(resultado.getQuantidadeDivergencias()).isEqualTo(2);
+		assertThat(resultado.getDivergencias()).containsExactly(
+				new DivergenciaSaldoDTO(2L, null, Dinheiro.deCentavos(500)),
+				new DivergenciaSaldoDTO(3L, Dinheiro.deCentavos(-1000), Dinheiro.ZERO));
+		Mockito.verify(lancamentoRepository).percorrerValores(ArgumentMatchers.eq(5L), ArgumentMatchers.eq(6L),
+				ArgumentMatchers.any());
+	}
+
+	@Test
+	public void deveRecusarUmaSegundaConciliacaoEnquantoAPrimeiraEstiverEmAndamento() throws Exception {
+		//Cenário
+		Mockito.when(usuarioRepository.obterFaixaIds()).thenReturn(Collections.singletonList(new Object[] { 1L, 1L }));
+		CountDownLatch liberar = new CountDownLatch(1);
+		Mockito.doAnswer(invocacao -> liberar.await(5, TimeUnit.SECONDS)).when(lancamentoRepository)
+				.percorrerValores(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.any());
+
+		//Ação
+		ConciliacaoSaldoDTO iniciada = service.iniciar();
+
+		//Verificação
+		assertThat(iniciada.getSituacao()).isEqualTo(SituacaoConciliacao.EM_ANDAMENTO.name());
+		assertThatThrownBy(() -> service.iniciar()).isInstanceOf(RegraNegocioException.class);
+		liberar.countDown();
+		ConciliacaoSaldoDTO concluida = aguardarConclusao();
+		assertThat(concluida.getSituacao()).isEqualTo(SituacaoConciliacao.CONCLUIDA.name());
+		assertThat(concluida.getFaixasConcluidas()).isEqualTo(1);
+	}
+
+	private ConciliacaoSaldoDTO aguardarConclusao() throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (service.obterAndamento().get().getFim() == null && System.currentTimeMillis() < limite) {
+			Thread.sleep(10);
+		}
+		return service.obterAndamento().get();
+	}
+
+	private static SaldoUsuario saldo(Long idUsuario, String receitas, String despesas) {
+		return new SaldoUsuario(idUsuario, Dinheiro.de(new BigDecimal(receitas)), Dinheiro.de(new BigDecimal(despesas)));
+	}
+}
@@ -0,0 +1,108 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.api.dto.EventoLancamentoDTO;
+import com.gupan.minhasfinancas.config.DestinoEventos;
+import com.gupan.minhasfinancas.model.entity.EventoLancamento;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.PublicacaoEvento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.repository.EventoLancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.gupan.minhasfinancas.model.repository.PublicacaoEventoRepository;
+import com.gupan.minhasfinancas.service.impl.EventoLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class EventoLancamentoServiceTest {
+
+	@SpyBean
+	EventoLancamentoServiceImpl service;
+
+	@MockBean
+	EventoLancamentoRepository repository;
+
+	@MockBean
+	PublicacaoEventoRepository publicacaoRepository;
+
+	@MockBean
+	DestinoEventos destino;
+
+	@Test
+	public void deveRegistrarOEventoComOEstadoDoLancamento() {
+		//Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(new Usuario(2L));
+		lancamento.setVersao(3L);
+
+		//Ação
+		service.registrar(TipoEvento.ATUALIZADO, lancamento);
+
+		//Verificação
+		ArgumentCaptor<EventoLancamento> captor = ArgumentCaptor.forClass(EventoLancamento.class);
+		Mockito.verify(repository).flush();
+		Mockito.verify(repository).save(captor.capture());
+		EventoLancamento evento = captor.getValue();
+		assertThat(evento.getTipoEvento()).isEqualTo(TipoEvento.ATUALIZADO);
+		assertThat(evento.getIdLancamento()).isEqualTo(1L);
+		assertThat(evento.getIdUsuario()).isEqualTo(2L);
+		assertThat(evento.getVersao()).isEqualTo(3L);
+		assertThat(evento.getPosicao()).isNull();
+	}
+
+	@Test
+	public void devePublicarOsPendentesAtribuindoAsPosicoesEmSequencia() {
+		//Cenário
+		PublicacaoEvento publicacao = new PublicacaoEvento(PublicacaoEvento.ID, 10L);
+		Mockito.when(publicacaoRepository.obterParaAtualizacao(PublicacaoEvento.ID)).thenReturn(Optional.of(publicacao));
+		List<EventoLancamento> pendentes = Arrays.asList(EventoLancamento.builder().id(7L).build(),
+				EventoLancamento.builder().id(5L).build());
+		Mockito.when(repository.buscarPendentes(Mockito.any(Pageable.class))).thenReturn(pendentes);
+
+		//Ação
+		int publicados = service.publicar(100);
+
+		//Verificação
+		assertThat(publicados).isEqualTo(2);
+		assertThat(pendentes).extracting(EventoLancamento::getPosicao).containsExactly(11L, 12L);
+		assertThat(publicacao.getUltimaPosicao()).isEqualTo(12L);
+		ArgumentCaptor<List<EventoLancamentoDTO>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(destino).publicar(captor.capture());
+		assertThat(captor.getValue()).extracting(EventoLancamentoDTO::getPosicao).containsExactly(11L, 12L);
+	}
+
+	@Test
+	public void naoDevePublicarQuandoNaoHouverPendentes() {
+		//Cenário
+		Mockito.when(publicacaoRepository.obterParaAtualizacao(PublicacaoEvento.ID)).thenReturn(Optional.empty());
+		Mockito.when(publicacaoRepository.save(Mockito.any(PublicacaoEvento.class)))
+				.thenAnswer(invocacao -> invocacao.getArgument(0));
+		Mockito.when(repository.buscarPendentes(Mockito.any(Pageable.class))).thenReturn(Collections.emptyList());
+
+		//Ação
+		int publicados = service.publicar(100);
+
+		//Verificação
+		assertThat(publicados).isZero();
+		Mockito.verify(publicacaoRepository).save(new PublicacaoEvento(PublicacaoEvento.ID, 0L));
+		Mockito.verifyNoInteractions(destino);
+	}
+}
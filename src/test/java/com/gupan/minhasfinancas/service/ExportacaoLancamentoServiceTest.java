@@ -0,0 +1,105 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.impl.ExportacaoLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ExportacaoLancamentoServiceTest {
+
+	private static final Long ID_USUARIO = 1L;
+
+	@SpyBean
+	ExportacaoLancamentoServiceImpl service;
+
+	@MockBean
+	LancamentoRepository repository;
+
+	private Lancamento filtro;
+
+	@BeforeEach
+	public void setUp() {
+		filtro = Lancamento.builder().usuario(new Usuario(ID_USUARIO)).build();
+		List<Lancamento> lancamentos = Arrays.asList(
+				criarLancamento(1L, "Aluguel; apto \"B\"", 1, "1500.50", TipoLancamento.DESPESA),
+				criarLancamento(2L, "Salário & bônus", 2, "3000.00", TipoLancamento.RECEITA));
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(3);
+			lancamentos.forEach(consumidor);
+			return null;
+		}).when(repository).exportar(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void deveExportarEmCsv() throws Exception {
+		//Cenário
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		//Ação
+		service.exportarCsv(filtro, null, null, saida);
+
+		//Verificação
+		assertThat(saida.toString(StandardCharsets.UTF_8.name())).isEqualTo(
+				"id;descricao;mes;ano;valor;tipo;status;data_cadastro\n"
+				+ "1;\"Aluguel; apto \"\"B\"\"\";1;2023;1500,50;DESPESA;PENDENTE;2023-01-10\n"
+				+ "2;Salário & bônus;2;2023;3000,00;RECEITA;PENDENTE;2023-01-10\n");
+	}
+
+	@Test
+	public void deveExportarEmOfxComOPeriodoEOSaldoDosLancamentos() throws Exception {
+		//Cenário
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		Mockito.when(repository.obterPeriodo(ID_USUARIO))
+				.thenReturn(Collections.singletonList(new Object[] { 202301, 202302 }));
+
+		//Ação
+		service.exportarOfx(filtro, null, null, saida);
+
+		//Verificação
+		String ofx = saida.toString(StandardCharsets.UTF_8.name());
+		assertThat(ofx).contains("<DTSTART>20230101</DTSTART><DTEND>20230228</DTEND>")
+				.contains("<TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20230101</DTPOSTED><TRNAMT>-1500.50</TRNAMT><FITID>1</FITID>")
+				.contains("<MEMO>Salário &amp; bônus</MEMO>")
+				.contains("<BALAMT>1499.50</BALAMT>")
+				.endsWith("</OFX>\n");
+	}
+
+	@Test
+	public void naoDeveConsultarOPeriodoQuandoInformado() throws Exception {
+		//Ação
+		service.exportarOfx(filtro, YearMonth.of(2023, 1), YearMonth.of(2023, 12), new ByteArrayOutputStream());
+
+		//Verificação
+		Mockito.verify(repository, Mockito.never()).obterPeriodo(Mockito.anyLong());
+	}
+
+	private Lancamento criarLancamento(Long id, String descricao, int mes, String valor, TipoLancamento tipo) {
+		return Lancamento.builder().id(id).descricao(descricao).mes(mes).ano(2023).valor(new BigDecimal(valor))
+				.tipo(tipo).status(StatusLancamento.PENDENTE).dataCadastro(LocalDate.of(2023, 1, 10)).build();
+	}
+}
@@ -0,0 +1,198 @@
+package com.gupan.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.exception.IdempotenciaException;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Idempotencia;
+import com.gupan.minhasfinancas.model.repository.IdempotenciaRepository;
+import com.gupan.minhasfinancas.service.impl.IdempotenciaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class IdempotenciaServiceTest {
+
+	@SpyBean
+	IdempotenciaServiceImpl service;
+
+	@MockBean
+	IdempotenciaRepository repository;
+
+	@Test
+	public void deveReproduzirARespostaSemExecutarNovamente() {
+		//Cenário
+		AtomicInteger execucoes = new AtomicInteger();
+		Supplier<Idempotencia> operacao = () -> criarResposta(execucoes.incrementAndGet());
+
+		//Ação
+		Idempotencia primeira = service.executar(1L, "chave-1", "assinatura", operacao);
+		Idempotencia repetida = service.executar(1L, "chave-1", "assinatura", operacao);
+
+		//Verificação
+		Assertions.assertThat(execucoes).hasValue(1);
+		Assertions.assertThat(repetida).isEqualTo(primeira);
+		Assertions.assertThat(repetida.getCorpo()).isEqualTo("1");
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	@Test
+	public void deveSepararAsChavesPorUsuario() {
+		//Cenário
+		AtomicInteger execucoes = new AtomicInteger();
+
+		//Ação
+		service.executar(1L, "chave-2", "assinatura", () -> criarResposta(execucoes.incrementAndGet()));
+		Idempotencia outroUsuario = service.executar(2L, "chave-2", "assinatura", () -> criarResposta(execucoes.incrementAndGet()));
+
+		//Verificação
+		Assertions.assertThat(execucoes).hasValue(2);
+		Assertions.assertThat(outroUsuario.getCorpo()).isEqualTo("2");
+	}
+
+	@Test
+	public void deveAguardarARequisicaoSimultaneaComAMesmaChave() throws Exception {
+		//Cenário
+		AtomicInteger execucoes = new AtomicInteger();
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CountDownLatch liberada = new CountDownLatch(1);
+		CompletableFuture<Idempotencia> primeira = CompletableFuture.supplyAsync(() -> service.executar(1L, "chave-3",
+				"assinatura", () -> {
+					iniciada.countDown();
+					aguardar(liberada);
+					return criarResposta(execucoes.incrementAndGet());
+				}));
+		iniciada.await(5, TimeUnit.SECONDS);
+
+		//Ação
+		CompletableFuture<Idempotencia> repetida = CompletableFuture.supplyAsync(() -> service.executar(1L, "chave-3",
+				"assinatura", () -> criarResposta(execucoes.incrementAndGet())));
+		Thread.sleep(100);
+		Assertions.assertThat(repetida).isNotDone();
+		liberada.countDown();
+
+		//Verificação
+		Assertions.assertThat(repetida.get(5, TimeUnit.SECONDS)).isEqualTo(primeira.get(5, TimeUnit.SECONDS));
+		Assertions.assertThat(execucoes).hasValue(1);
+	}
+
+	@Test
+	public void deveRecusarAChaveUsadaComOutroLancamento() {
+		//Cenário
+		service.executar(1L, "chave-4", "assinatura", () -> criarResposta(1));
+
+		//Ação
+		Throwable erro = Assertions.catchThrowable(() -> service.executar(1L, "chave-4", "outra", () -> criarResposta(2)));
+
+		//Verificação
+		Assertions.assertThat(erro).isInstanceOf(IdempotenciaException.class)
+				.hasMessage("A chave de idempotência já foi usada com outro lançamento.");
+		Assertions.assertThat(((IdempotenciaException) erro).isEmAndamento()).isFalse();
+	}
+
+	@Test
+	public void deveRecusarUmaChaveLongaDemais() {
+		//Ação
+		Throwable erro = Assertions.catchThrowable(() -> service.executar(1L,
+				"x".repeat(IdempotenciaServiceImpl.TAMANHO_MAXIMO_CHAVE + 1), "assinatura", () -> criarResposta(1)));
+
+		//Verificação
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class);
+	}
+
+	@Test
+	public void deveExecutarNovamenteQuandoAOperacaoFalhar() {
+		//Cenário
+		AtomicInteger execucoes = new AtomicInteger();
+		Assertions.catchThrowable(() -> service.executar(1L, "chave-5", "assinatura", () -> {
+			execucoes.incrementAndGet();
+			throw new IllegalStateException("falha");
+		}));
+
+		//Ação
+		Idempotencia resposta = service.executar(1L, "chave-5", "assinatura", () -> criarResposta(execucoes.incrementAndGet()));
+
+		//Verificação
+		Assertions.assertThat(resposta.getCorpo()).isEqualTo("2");
+	}
+
+	@Test
+	public void deveGravarARespostaNoBanco() {
+		//Cenário
+		IdempotenciaService noBanco = new IdempotenciaServiceImpl(repository, true, 24, 100, 1000);
+
+		//Ação
+		noBanco.executar(1L, "chave-6", "assinatura", () -> criarResposta(1));
+
+		//Verificação
+		Mockito.verify(repository).reservar(Mockito.eq("1:chave-6"), Mockito.eq(1L), Mockito.eq("assinatura"),
+				Mockito.any(LocalDateTime.class));
+		Mockito.verify(repository).concluir("1:chave-6", 201, "\"0\"", "application/json", "1");
+	}
+
+	@Test
+	public void deveReproduzirARespostaGravadaPorOutraInstancia() {
+		//Cenário
+		IdempotenciaService noBanco = new IdempotenciaServiceImpl(repository, true, 24, 100, 1000);
+		Idempotencia gravada = criarResposta(7);
+		gravada.setChave("1:chave-7");
+		gravada.setAssinatura("assinatura");
+		Mockito.when(repository.reservar(Mockito.anyString(), Mockito.anyLong(), Mockito.anyString(), Mockito.any()))
+				.thenThrow(new DataIntegrityViolationException("chave duplicada"));
+		Mockito.when(repository.consultar("1:chave-7")).thenReturn(Optional.of(new Idempotencia()), Optional.of(gravada));
+		AtomicInteger execucoes = new AtomicInteger();
+
+		//Ação
+		Idempotencia resposta = noBanco.executar(1L, "chave-7", "assinatura", () -> criarResposta(execucoes.incrementAndGet()));
+
+		//Verificação
+		Assertions.assertThat(resposta.getCorpo()).isEqualTo("7");
+		Assertions.assertThat(execucoes).hasValue(0);
+		Mockito.verify(repository, Mockito.times(2)).consultar("1:chave-7");
+	}
+
+	@Test
+	public void deveLiberarAChaveNoBancoQuandoAOperacaoFalhar() {
+		//Cenário
+		IdempotenciaService noBanco = new IdempotenciaServiceImpl(repository, true, 24, 100, 1000);
+
+		//Ação
+		Throwable erro = Assertions.catchThrowable(() -> noBanco.executar(1L, "chave-8", "assinatura", () -> {
+			throw new IllegalStateException("falha");
+		}));
+
+		//Verificação
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class);
+		Mockito.verify(repository).liberar("1:chave-8");
+		Mockito.verify(repository, Mockito.never()).concluir(Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.any(), Mockito.any());
+	}
+
+	private static Idempotencia criarResposta(int corpo) {
+		return Idempotencia.builder().status(201).etag("\"0\"").tipoConteudo("application/json")
+				.corpo(String.valueOf(corpo)).build();
+	}
+
+	private static void aguardar(CountDownLatch liberada) {
+		try {
+			liberada.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.api.dto.LancamentoDTO;
+import com.gupan.minhasfinancas.api.dto.ResultadoImportacaoDTO;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.impl.ImportacaoLancamentoServiceImpl;
+import com.gupan.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ImportacaoLancamentoServiceTest {
+
+	private static final Long ID_USUARIO = 1L;
+
+	@SpyBean
+	ImportacaoLancamentoServiceImpl service;
+
+	@SpyBean
+	LancamentoServiceImpl lancamentoService;
+
+	@MockBean
+	LancamentoRepository repository;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	SaldoUsuarioService saldoService;
+
+	@MockBean
+	ResumoMensalService resumoService;
+
+	@MockBean
+	CacheConsultaService cacheConsulta;
+
+	@MockBean
+	EventoLancamentoService eventoService;
+
+	@Test
+	public void deveImportarAsLinhasValidasEReportarAsInvalidas() {
+		//Cenário
+		Mockito.when(usuarioService.filtrarExistentes(Mockito.anyCollection()))
+				.thenReturn(Collections.singleton(ID_USUARIO));
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		List<LancamentoDTO> lancamentos = Arrays.asList(criarDTO(ID_USUARIO), criarDTO(2L),
+				LancamentoDTO.builder().descricao("").mes(1).ano(2023).valor(BigDecimal.TEN).tipo("DESPESA")
+						.usuario(ID_USUARIO).build());
+
+		//Ação
+		ResultadoImportacaoDTO resultado = service.importar(ID_USUARIO, lancamentos);
+
+		//Verificação
+		assertThat(resultado.getTotal()).isEqualTo(3);
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2, 3);
+		assertThat(resultado.getErros()).extracting("mensagem")
+				.containsExactly("O lançamento deve pertencer ao usuário autenticado.", "Informe uma Descrição válida.");
+
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(repository).inserirEmLote(captor.capture());
+		assertThat(captor.getValue()).hasSize(1).allMatch(l -> l.getStatus() == StatusLancamento.PENDENTE);
+	}
+
+	@Test
+	public void deveGravarEmLotesEVerificarCadaUsuarioUmaUnicaVez() {
+		//Cenário
+		Mockito.when(usuarioService.filtrarExistentes(Mockito.anyCollection()))
+				.thenReturn(Collections.singleton(ID_USUARIO));
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		List<LancamentoDTO> lancamentos = new ArrayList<>();
+		for (int i = 0; i < ImportacaoLancamentoServiceImpl.TAMANHO_LOTE * 2 + 1; i++) {
+			lancamentos.add(criarDTO(ID_USUARIO));
+		}
+
+		//Ação
+		ResultadoImportacaoDTO resultado = service.importar(ID_USUARIO, lancamentos);
+
+		//Verificação
+		assertThat(resultado.getImportados()).isEqualTo(lancamentos.size());
+		Mockito.verify(repository, Mockito.times(3)).inserirEmLote(Mockito.anyList());
+		Mockito.verify(saldoService, Mockito.times(3)).registrarTodos(Mockito.anyList());
+		Mockito.verify(usuarioService, Mockito.times(1)).filtrarExistentes(Collections.singleton(ID_USUARIO));
+	}
+
+	@Test
+	public void deveLerOArquivoCsv() {
+		//Cenário
+		Mockito.when(usuarioService.filtrarExistentes(Mockito.anyCollection()))
+				.thenReturn(Collections.singleton(ID_USUARIO));
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		String csv = "descricao;mes;ano;valor;tipo;usuario\n"
+				+ "\"Aluguel; apto\";1;2023;1500,50;despesa;1\n"
+				+ "Salário;1;2023;abc;RECEITA;1\n"
+				+ "Conta de Luz;1;2023;120.00;OUTRO;1\n"
+				+ "Internet;1;2023;99,90;DESPESA\n";
+
+		//Ação
+		ResultadoImportacaoDTO resultado = service
+				.importarCsv(ID_USUARIO, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		//Verificação
+		assertThat(resultado.getTotal()).isEqualTo(4);
+		assertThat(resultado.getImportados()).isEqualTo(2);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(3, 4);
+
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(repository).inserirEmLote(captor.capture());
+		Lancamento importado = captor.getValue().get(0);
+		assertThat(captor.getValue()).extracting("usuario.id").containsOnly(ID_USUARIO);
+		assertThat(importado.getDescricao()).isEqualTo("Aluguel; apto");
+		assertThat(importado.getValor()).isEqualByComparingTo(new BigDecimal("1500.50"));
+	}
+
+	@Test
+	public void deveRejeitarMesEAnoQueNaoSejamInteiros() {
+		//Cenário
+		Mockito.when(usuarioService.filtrarExistentes(Mockito.anyCollection()))
+				.thenReturn(Collections.singleton(ID_USUARIO));
+		Mockito.when(usuarioService.obterReferencia(ID_USUARIO)).thenReturn(new Usuario(ID_USUARIO));
+		String csv = "descricao;mes;ano;valor;tipo\n"
+				+ "Aluguel;1.5;2023;1500;DESPESA\n"
+				+ "Salário;1;4294969319;3000;RECEITA\n"
+				+ "Internet;1.0;2023;99,90;DESPESA\n";
+
+		//Ação
+		ResultadoImportacaoDTO resultado = service
+				.importarCsv(ID_USUARIO, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		//Verificação
+		assertThat(resultado.getImportados()).isEqualTo(1);
+		assertThat(resultado.getErros()).extracting("linha").containsExactly(2, 3);
+		assertThat(resultado.getErros()).extracting("mensagem")
+				.containsExactly("Informe um Mês válido.", "Informe um Ano válido.");
+
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(repository).inserirEmLote(captor.capture());
+		assertThat(captor.getValue()).extracting("mes").containsExactly(1);
+	}
+
+	private LancamentoDTO criarDTO(Long usuario) {
+		return LancamentoDTO.builder().descricao("Conta de Luz").mes(1).ano(2023).valor(BigDecimal.TEN)
+				.tipo("DESPESA").usuario(usuario).build();
+	}
+}
@@ -0,0 +1,76 @@
+package com.gupan.minhasfinancas.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.service.impl.JwtServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class JwtServiceTest {
+
+	private static final Long ID = 1L;
+
+	private static final String CHAVE = "c2VncmVkby1kZS10ZXN0ZS1jb20tMzItYnl0ZXMtISE=";
+
+	@SpyBean
+	JwtServiceImpl service;
+
+	@Test
+	public void deveGerarUmTokenComOIdDoUsuario() {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(ID).nome("usuario").email("usuario@email.com").build();
+
+		// Ação
+		String token = service.gerarToken(usuario);
+
+		// Verificação
+		Assertions.assertThat(service.obterIdUsuario(token)).isEqualTo(ID);
+	}
+
+	@Test
+	public void deveRecusarUmTokenAdulterado() {
+		// Cenário
+		String token = service.gerarToken(Usuario.builder().id(ID).build());
+		String[] partes = token.split("\\.");
+		String adulterado = partes[0] + "." + partes[1].substring(0, partes[1].length() - 2) + "x." + partes[2];
+
+		// Ação
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario(adulterado));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacaoException.class)
+				.hasMessage("Token inválido ou expirado.");
+	}
+
+	@Test
+	public void deveRecusarUmTokenAssinadoComOutraChave() {
+		// Cenário
+		String token = new JwtServiceImpl("", 30).gerarToken(Usuario.builder().id(ID).build());
+
+		// Ação
+		Throwable erro = Assertions.catchThrowable(() -> service.obterIdUsuario(token));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacaoException.class);
+	}
+
+	@Test
+	public void deveRecusarUmTokenExpirado() {
+		// Cenário
+		JwtServiceImpl expirado = new JwtServiceImpl(CHAVE, -1);
+		String token = expirado.gerarToken(Usuario.builder().id(ID).build());
+
+		// Ação
+		Throwable erro = Assertions.catchThrowable(() -> expirado.obterIdUsuario(token));
+
+		// Verificação
+		Assertions.assertThat(erro).isInstanceOf(ErroAutenticacaoException.class);
+	}
+}
@@ -4,25 +4,33 @@ import static org.assertj.core.api.Assertions.*;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.config.CacheConfig;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
 import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
 import com.gupan.minhasfinancas.model.entity.Usuario;
 import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
 import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
 import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.gupan.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.gupan.minhasfinancas.service.impl.LancamentosEmMemoria;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -34,6 +42,21 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 	
+	@MockBean
+	SaldoUsuarioService saldoService;
+	
+	@MockBean
+	ResumoMensalService resumoService;
+	
+	@MockBean
+	CacheConsultaService cacheConsulta;
+	
+	@MockBean
+	EventoLancamentoService eventoService;
+	
+	@MockBean
+	LancamentosEmMemoria memoria;
+	
 	@Test
 	public void deveSalvarUmLancamento() {
 		//Cenário
@@ -51,6 +74,8 @@ public class LancamentoServiceTest {
 		//Verificação
 		assertThat(lancamento.getId()).isEqualTo(lancamentoSalvo.getId());
 		assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(saldoService).registrar(lancamentoSalvo);
+		Mockito.verify(eventoService).registrar(TipoEvento.CRIADO, lancamentoSalvo);
 	}
 	
 	@Test
@@ -101,6 +126,8 @@ public class LancamentoServiceTest {
 		
 		//Verificação
 		Mockito.verify(repository).delete(lancamento);
+		Mockito.verify(saldoService).estornar(lancamento);
+		Mockito.verify(eventoService).registrar(TipoEvento.EXCLUIDO, lancamento);
 	}
 	
 	@Test
@@ -121,14 +148,14 @@ public class LancamentoServiceTest {
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId(1L);
 		
-		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		List<ItemLancamentoDTO> lista = Arrays.asList(ItemLancamentoDTO.de(lancamento));
+		Mockito.when(repository.listar(lancamento)).thenReturn(lista);
 	
 		//Ação
-		List<Lancamento> result = service.buscar(lancamento);
+		List<ItemLancamentoDTO> result = service.buscar(lancamento);
 		
 		//Verificação
-		assertThat(result).isNotEmpty().hasSize(1).contains(lancamento);
+		assertThat(result).isNotEmpty().hasSize(1).extracting(ItemLancamentoDTO::getId).contains(1L);
 	}
 	
 	@Test
@@ -181,6 +208,175 @@ public class LancamentoServiceTest {
 		assertThat(result.isPresent()).isFalse();
 	}
 	
+	@Test
+	public void deveEstornarOValorAnteriorAoAtualizarUmLancamento() {
+		//Cenário
+		Lancamento anterior = LancamentoRepositoryTest.criarLancamento();
+		anterior.setId(1L);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setValor(BigDecimal.valueOf(50));
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.obterEstadoGravado(1L)).thenReturn(Optional.of(anterior));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		//Ação
+		service.atualizar(lancamento);
+		
+		//Verificação
+		Mockito.verify(saldoService).estornar(anterior);
+		Mockito.verify(saldoService).registrar(lancamento);
+		Mockito.verify(resumoService).estornar(anterior);
+		Mockito.verify(resumoService).registrar(lancamento);
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteETransferirOsResumos() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().ano(2023).mes(1).usuario(Usuario.builder().id(1L).build()).build();
+		List<ResumoMensal> resumos = Collections.singletonList(new ResumoMensal(1L, 2023, 1, TipoLancamento.DESPESA,
+				StatusLancamento.PENDENTE, 2L, BigDecimal.valueOf(20)));
+		Mockito.when(repository.resumirLote(filtro, null)).thenReturn(resumos);
+		Mockito.when(repository.listarLote(filtro, null)).thenReturn(Arrays.asList(
+				ItemLancamentoDTO.builder().id(1L).status(StatusLancamento.PENDENTE).versao(0L).build(),
+				ItemLancamentoDTO.builder().id(2L).status(StatusLancamento.PENDENTE).versao(4L).build()));
+		Mockito.when(repository.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO)).thenReturn(2);
+		
+		//Ação
+		int atualizados = service.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO);
+		
+		//Verificação
+		assertThat(atualizados).isEqualTo(2);
+		assertThat(filtro.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(resumoService).transferir(resumos, StatusLancamento.EFETIVADO);
+		Mockito.verifyNoInteractions(saldoService);
+		ArgumentCaptor<List<Lancamento>> eventos = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(eventoService).registrarTodos(Mockito.eq(TipoEvento.ATUALIZADO), eventos.capture());
+		assertThat(eventos.getValue()).extracting(Lancamento::getId, Lancamento::getStatus, Lancamento::getVersao)
+				.containsExactly(tuple(1L, StatusLancamento.EFETIVADO, 1L), tuple(2L, StatusLancamento.EFETIVADO, 5L));
+	}
+	
+	@Test
+	public void naoDeveAtualizarEmLoteQuandoNaoHouverPendentes() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().ano(2023).usuario(Usuario.builder().id(1L).build()).build();
+		Mockito.when(repository.resumirLote(filtro, null)).thenReturn(Collections.emptyList());
+		
+		//Ação
+		int atualizados = service.atualizarStatusEmLote(filtro, null, StatusLancamento.CANCELADO);
+		
+		//Verificação
+		assertThat(atualizados).isZero();
+		Mockito.verify(repository, Mockito.never()).atualizarStatusEmLote(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verifyNoInteractions(resumoService);
+	}
+	
+	@Test
+	public void deveLancarErroQuandoOsLancamentosMudaremDuranteAAtualizacaoEmLote() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1L).build()).build();
+		List<Long> ids = Arrays.asList(1L, 2L);
+		Mockito.when(repository.resumirLote(filtro, ids)).thenReturn(Collections.singletonList(new ResumoMensal(1L,
+				2023, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 2L, BigDecimal.valueOf(20))));
+		Mockito.when(repository.atualizarStatusEmLote(filtro, ids, StatusLancamento.EFETIVADO)).thenReturn(1);
+		
+		//Ação
+		Throwable erro = catchThrowable(() -> service.atualizarStatusEmLote(filtro, ids, StatusLancamento.EFETIVADO));
+		
+		//Verificação
+		assertThat(erro).isInstanceOf(RegraNegocioException.class)
+				.hasMessage("Os lançamentos foram alterados durante a atualização. Tente novamente.");
+	}
+	
+	@Test
+	public void deveLancarErroAoAtualizarEmLoteSemFiltroOuParaPendente() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1L).build()).build();
+		
+		//Ação
+		Throwable semFiltro = catchThrowable(() -> service.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO));
+		Throwable pendente = catchThrowable(() -> service.atualizarStatusEmLote(filtro, Arrays.asList(1L), StatusLancamento.PENDENTE));
+		
+		//Verificação
+		assertThat(semFiltro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe os lançamentos ou o Ano a atualizar.");
+		assertThat(pendente).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Status diferente de PENDENTE.");
+		Mockito.verifyNoInteractions(repository);
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioPeloCache() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().ano(2023).mes(1).usuario(Usuario.builder().id(1L).build()).build();
+		List<ItemLancamentoDTO> emCache = Collections.singletonList(ItemLancamentoDTO.builder().id(1L).build());
+		Mockito.when(cacheConsulta.obter(Mockito.eq(CacheConfig.LANCAMENTOS), Mockito.eq(1L), Mockito.anyString(), Mockito.any()))
+				.thenReturn(emCache);
+		
+		//Ação
+		List<ItemLancamentoDTO> result = service.buscar(filtro);
+		
+		//Verificação
+		assertThat(result).isSameAs(emCache);
+		Mockito.verify(repository, Mockito.never()).listar(Mockito.any());
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioNaMemoriaAntesDoCache() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().ano(2023).usuario(Usuario.builder().id(1L).build()).build();
+		List<ItemLancamentoDTO> emMemoria = Collections.singletonList(ItemLancamentoDTO.builder().id(1L).build());
+		Mockito.when(memoria.buscar(filtro)).thenReturn(Optional.of(emMemoria));
+		
+		//Ação
+		List<ItemLancamentoDTO> result = service.buscar(filtro);
+		
+		//Verificação
+		assertThat(result).isSameAs(emMemoria);
+		Mockito.verifyNoInteractions(cacheConsulta);
+	}
+	
+	@Test
+	public void deveAtualizarAMemoriaAoSalvarUmLancamento() {
+		//Cenário
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+		Mockito.doNothing().when(service).validar(lancamentoASalvar);
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+		
+		//Ação
+		service.salvar(lancamentoASalvar);
+		
+		//Verificação
+		Mockito.verify(memoria).registrar(lancamentoASalvar);
+	}
+	
+	@Test
+	public void deveInvalidarOCacheDoUsuarioAoSalvarUmLancamento() {
+		//Cenário
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+		lancamentoASalvar.setUsuario(Usuario.builder().id(1L).build());
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+		
+		//Ação
+		service.salvar(lancamentoASalvar);
+		
+		//Verificação
+		Mockito.verify(cacheConsulta).invalidar(1L);
+	}
+	
+	@Test
+	public void deveObterOSaldoAgregadoDoUsuario() {
+		//Cenário
+		Mockito.when(saldoService.obterSaldo(1L)).thenReturn(BigDecimal.valueOf(100));
+		Mockito.when(cacheConsulta.obter(Mockito.eq(CacheConfig.SALDOS), Mockito.eq(1L), Mockito.anyString(), Mockito.any()))
+				.thenAnswer(invocacao -> invocacao.<Supplier<?>>getArgument(3).get());
+		
+		//Ação
+		BigDecimal saldo = service.obterSaldoPorUsuario(1L);
+		
+		//Verificação
+		assertThat(saldo).isEqualTo(BigDecimal.valueOf(100));
+		Mockito.verify(repository, Mockito.never()).obterSaldoPorTipoLancamentoEUsuario(Mockito.anyLong(), Mockito.any());
+	}
+	
 	@Test
 	public void deveLancarErroAoValidarUmLancamento() {
 		//Cenário
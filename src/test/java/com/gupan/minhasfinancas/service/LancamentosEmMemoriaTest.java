@@ -0,0 +1,152 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.service.impl.LancamentosEmMemoria;
+
+public class LancamentosEmMemoriaTest {
+
+	static final Long ID_USUARIO = 1L;
+
+	LancamentoRepository repository = Mockito.mock(LancamentoRepository.class);
+
+	LancamentosEmMemoria memoria;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		memoria = new LancamentosEmMemoria(repository, Optional.empty(), 1000, 100, 2, 4, Duration.ofMinutes(10));
+		Mockito.when(repository.count(Mockito.any(Specification.class))).thenReturn(3L);
+		Mockito.when(repository.listar(Mockito.any())).thenReturn(Arrays.asList(
+				item(1L, 2023, 1, "Conta de Luz", "120.50", TipoLancamento.DESPESA, 0L),
+				item(7L, 2023, 1, "Salário", "3000", TipoLancamento.RECEITA, 2L),
+				item(3L, 2023, 2, "Conta de Água", "80.25", TipoLancamento.DESPESA, 0L)));
+	}
+
+	@Test
+	public void deveCarregarOUsuarioSomenteDepoisDeAcessosRepetidos() {
+		//Ação
+		Optional<BigDecimal> primeiro = memoria.obterSaldo(ID_USUARIO);
+		Optional<BigDecimal> segundo = memoria.obterSaldo(ID_USUARIO);
+		Optional<BigDecimal> terceiro = memoria.obterSaldo(ID_USUARIO);
+
+		//Verificação
+		assertThat(primeiro).isEmpty();
+		assertThat(segundo).contains(new BigDecimal("2799.25"));
+		assertThat(terceiro).contains(new BigDecimal("2799.25"));
+		Mockito.verify(repository, Mockito.times(1)).listar(Mockito.any());
+	}
+
+	@Test
+	public void deveFiltrarNaOrdemDaConsultaAoBanco() {
+		//Cenário
+		carregar();
+
+		//Ação
+		List<ItemLancamentoDTO> doMes = memoria.buscar(filtro(2023, 1, null)).get();
+		List<ItemLancamentoDTO> porDescricao = memoria.buscar(filtro(null, null, "conta")).get();
+		List<ItemLancamentoDTO> deOutroAno = memoria.buscar(filtro(2024, null, null)).get();
+
+		//Verificação
+		assertThat(doMes).extracting(ItemLancamentoDTO::getId).containsExactly(1L, 7L);
+		assertThat(doMes.get(0)).isEqualTo(item(1L, 2023, 1, "Conta de Luz", "120.50", TipoLancamento.DESPESA, 0L));
+		assertThat(porDescricao).extracting(ItemLancamentoDTO::getId).containsExactly(1L, 3L);
+		assertThat(deOutroAno).isEmpty();
+	}
+
+	@Test
+	public void deveAplicarAsGravacoesSemVoltarAoBanco() {
+		//Cenário
+		carregar();
+		Lancamento novo = lancamento(2L, 2023, 1, "1", TipoLancamento.RECEITA, 0L);
+		Lancamento alterado = lancamento(3L, 2022, 12, "80.25", TipoLancamento.DESPESA, 1L);
+		Lancamento desatualizado = lancamento(7L, 2023, 1, "1", TipoLancamento.RECEITA, 1L);
+
+		//Ação
+		memoria.registrar(novo);
+		memoria.registrarTodos(Arrays.asList(alterado, desatualizado));
+		memoria.remover(lancamento(1L, 2023, 1, "120.50", TipoLancamento.DESPESA, 0L));
+
+		//Verificação
+		List<ItemLancamentoDTO> todos = memoria.buscar(filtro(null, null, null)).get();
+		assertThat(todos).extracting(ItemLancamentoDTO::getId).containsExactly(3L, 2L, 7L);
+		assertThat(todos.get(2).getValor()).isEqualByComparingTo("3000");
+		assertThat(memoria.obterSaldo(ID_USUARIO)).contains(new BigDecimal("2920.75"));
+		Mockito.verify(repository, Mockito.times(1)).listar(Mockito.any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void naoDeveCarregarUsuarioComLancamentosDemais() {
+		//Cenário
+		Mockito.when(repository.count(Mockito.any(Specification.class))).thenReturn(101L);
+
+		//Ação
+		memoria.obterSaldo(ID_USUARIO);
+		Optional<BigDecimal> saldo = memoria.obterSaldo(ID_USUARIO);
+
+		//Verificação
+		assertThat(saldo).isEmpty();
+		Mockito.verify(repository, Mockito.never()).listar(Mockito.any());
+	}
+
+	@Test
+	public void deveDescartarTodosOsUsuariosCarregados() {
+		//Cenário
+		carregar();
+
+		//Ação
+		memoria.descartarTodos();
+
+		//Verificação
+		assertThat(memoria.buscar(filtro(null, null, null))).isEmpty();
+		Mockito.verify(repository, Mockito.times(1)).listar(Mockito.any());
+	}
+
+	@Test
+	public void naoDeveHabilitarAMemoriaComOCacheCompartilhado() {
+		//Ação e Verificação
+		assertThatThrownBy(() -> new CacheConfig().lancamentosEmMemoria(repository, Optional.empty(), 1000, 100, 2, 4, 10,
+				"redis")).isInstanceOf(IllegalStateException.class);
+	}
+
+	private void carregar() {
+		memoria.obterSaldo(ID_USUARIO);
+		memoria.obterSaldo(ID_USUARIO);
+	}
+
+	private Lancamento filtro(Integer ano, Integer mes, String descricao) {
+		return Lancamento.builder().ano(ano).mes(mes).descricao(descricao).usuario(new Usuario(ID_USUARIO)).build();
+	}
+
+	private static Lancamento lancamento(Long id, int ano, int mes, String valor, TipoLancamento tipo, Long versao) {
+		return Lancamento.builder().id(id).ano(ano).mes(mes).descricao("Lançamento " + id).valor(new BigDecimal(valor))
+				.tipo(tipo).status(StatusLancamento.PENDENTE).usuario(new Usuario(ID_USUARIO)).versao(versao).build();
+	}
+
+	private static ItemLancamentoDTO item(Long id, int ano, int mes, String descricao, String valor,
+			TipoLancamento tipo, Long versao) {
+		return new ItemLancamentoDTO(id, descricao, mes, ano, new BigDecimal(valor).setScale(2), tipo,
+				StatusLancamento.PENDENTE, LocalDate.of(2023, 1, 10), versao);
+	}
+}
@@ -0,0 +1,194 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.api.dto.ItemLancamentoDTO;
+import com.gupan.minhasfinancas.exception.RegraNegocioException;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.Recorrencia;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoEvento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.gupan.minhasfinancas.service.impl.RecorrenciaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+
+	private static final Long ID_USUARIO = 1L;
+
+	@SpyBean
+	RecorrenciaServiceImpl service;
+
+	@MockBean
+	RecorrenciaRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	SaldoUsuarioService saldoService;
+
+	@MockBean
+	ResumoMensalService resumoService;
+
+	@MockBean
+	CacheConsultaService cacheConsulta;
+
+	@MockBean
+	EventoLancamentoService eventoService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveGerarAsParcelasVencidasAoSalvar() {
+		//Cenário
+		YearMonth inicio = YearMonth.now().minusMonths(2);
+		Recorrencia recorrencia = criarRecorrencia(inicio, 12);
+		Mockito.when(repository.save(recorrencia)).thenReturn(recorrencia);
+
+		//Ação
+		service.salvar(recorrencia);
+
+		//Verificação
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoRepository).inserirEmLote(captor.capture());
+		assertThat(captor.getValue()).extracting(Lancamento::getDescricao)
+				.containsExactly("Aluguel (1/12)", "Aluguel (2/12)", "Aluguel (3/12)");
+		assertThat(captor.getValue()).extracting(Lancamento::getStatus).containsOnly(StatusLancamento.PENDENTE);
+		assertThat(captor.getValue().get(2).getMes()).isEqualTo(YearMonth.now().getMonthValue());
+		assertThat(recorrencia.getGeradas()).isEqualTo(3);
+		assertThat(recorrencia.getProximoPeriodo()).isEqualTo(periodo(YearMonth.now().plusMonths(1)));
+		Mockito.verify(saldoService).registrarTodos(captor.getValue());
+		Mockito.verify(eventoService).registrarTodos(TipoEvento.CRIADO, captor.getValue());
+		Mockito.verify(cacheConsulta).invalidar(ID_USUARIO);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveEncerrarARecorrenciaNaUltimaParcela() {
+		//Cenário
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.of(2030, 1), 12);
+		recorrencia.setGeradas(10);
+		recorrencia.setProximoPeriodo(203011);
+		Mockito.when(repository.buscarPendentes(ArgumentMatchers.eq(203112), ArgumentMatchers.any()))
+				.thenReturn(Collections.singletonList(recorrencia));
+
+		//Ação
+		int processadas = service.materializar(YearMonth.of(2031, 12), 100);
+
+		//Verificação
+		ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(lancamentoRepository).inserirEmLote(captor.capture());
+		assertThat(processadas).isEqualTo(1);
+		assertThat(captor.getValue()).extracting(Lancamento::getMes).containsExactly(11, 12);
+		assertThat(recorrencia.getGeradas()).isEqualTo(12);
+		assertThat(recorrencia.getProximoPeriodo()).isNull();
+	}
+
+	@Test
+	public void deveProjetarAsOcorrenciasSemGravar() {
+		//Cenário
+		int ano = YearMonth.now().getYear();
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.of(ano, 1), null);
+		recorrencia.setMesFinal(6);
+		recorrencia.setAnoFinal(ano + 1);
+		recorrencia.setGeradas(2);
+		Mockito.when(repository.buscarEmAndamento(ID_USUARIO)).thenReturn(Collections.singletonList(recorrencia));
+		Lancamento filtro = Lancamento.builder().usuario(new Usuario(ID_USUARIO)).ano(ano + 1).build();
+
+		//Ação
+		List<ItemLancamentoDTO> previstos = service.projetar(filtro);
+
+		//Verificação
+		assertThat(previstos).extracting(ItemLancamentoDTO::getMes).containsExactly(1, 2, 3, 4, 5, 6);
+		assertThat(previstos).extracting(ItemLancamentoDTO::getId).containsOnlyNulls();
+		assertThat(previstos.get(0).getDescricao()).isEqualTo("Aluguel");
+		Mockito.verify(lancamentoRepository, Mockito.never()).inserirEmLote(ArgumentMatchers.any());
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void naoDeveSalvarUmaRecorrenciaQueTerminaAntesDeComecar() {
+		//Cenário
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.of(2030, 5), null);
+		recorrencia.setMesFinal(4);
+		recorrencia.setAnoFinal(2030);
+
+		//Ação e Verificação
+		assertThatThrownBy(() -> service.salvar(recorrencia)).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void deveProjetarSomenteAteOHorizonteNoAnoDoLimite() {
+		//Cenário
+		YearMonth horizonte = YearMonth.now().plusMonths(24);
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.now().plusMonths(1), null);
+		Mockito.when(repository.buscarEmAndamento(ID_USUARIO)).thenReturn(Collections.singletonList(recorrencia));
+		Lancamento filtro = Lancamento.builder().usuario(new Usuario(ID_USUARIO)).ano(horizonte.getYear()).build();
+
+		//Ação
+		List<ItemLancamentoDTO> previstos = service.projetar(filtro);
+
+		//Verificação
+		assertThat(previstos).extracting(ItemLancamentoDTO::getAno).containsOnly(horizonte.getYear());
+		assertThat(previstos.get(previstos.size() - 1).getMes()).isEqualTo(horizonte.getMonthValue());
+	}
+
+	@Test
+	public void naoDeveProjetarAlemDoHorizonte() {
+		//Cenário
+		Lancamento filtro = Lancamento.builder().usuario(new Usuario(ID_USUARIO)).ano(9999).build();
+
+		//Ação e Verificação
+		assertThatThrownBy(() -> service.projetar(filtro)).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).buscarEmAndamento(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void naoDeveSalvarUmaRecorrenciaIniciadaAntesDoLimiteRetroativo() {
+		//Cenário
+		Recorrencia recorrencia = criarRecorrencia(YearMonth.of(1000, 1), null);
+
+		//Ação e Verificação
+		assertThatThrownBy(() -> service.salvar(recorrencia)).isInstanceOf(RegraNegocioException.class)
+				.hasMessageStartingWith("Informe um Mês inicial a partir de");
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+		Mockito.verify(lancamentoRepository, Mockito.never()).inserirEmLote(ArgumentMatchers.any());
+	}
+
+	private Recorrencia criarRecorrencia(YearMonth inicio, Integer parcelas) {
+		return Recorrencia.builder()
+				.descricao("Aluguel")
+				.usuario(new Usuario(ID_USUARIO))
+				.valor(BigDecimal.valueOf(1500))
+				.tipo(TipoLancamento.DESPESA)
+				.ano(inicio.getYear())
+				.mes(inicio.getMonthValue())
+				.parcelas(parcelas)
+				.geradas(0)
+				.build();
+	}
+
+	private static int periodo(YearMonth mes) {
+		return mes.getYear() * 100 + mes.getMonthValue();
+	}
+}
@@ -0,0 +1,196 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.ResumoMensal;
+import com.gupan.minhasfinancas.model.entity.ResumoMensalId;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.StatusLancamento;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.gupan.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.gupan.minhasfinancas.service.impl.ResumoMensalServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+	private static final Long ID_USUARIO = 1L;
+
+	@SpyBean
+	ResumoMensalServiceImpl service;
+
+	@MockBean
+	ResumoMensalRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@Test
+	public void deveCriarOResumoDoMesAoRegistrarUmLancamento() {
+		//Cenário
+		Lancamento lancamento = criarLancamento();
+		Mockito.when(repository.obterParaAtualizacao(ResumoMensalId.de(lancamento))).thenReturn(Optional.empty());
+
+		//Ação
+		service.registrar(lancamento);
+
+		//Verificação
+		ArgumentCaptor<ResumoMensal> captor = ArgumentCaptor.forClass(ResumoMensal.class);
+		Mockito.verify(repository).save(captor.capture());
+		assertThat(captor.getValue().getQuantidade()).isEqualTo(1L);
+		assertThat(captor.getValue().getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(10)));
+	}
+
+	@Test
+	public void deveRemoverOResumoQuandoOUltimoLancamentoForEstornado() {
+		//Cenário
+		Lancamento lancamento = criarLancamento();
+		ResumoMensal resumo = new ResumoMensal(ResumoMensalId.de(lancamento), 1L, Dinheiro.de(BigDecimal.valueOf(10)));
+		Mockito.when(repository.obterParaAtualizacao(resumo.getId())).thenReturn(Optional.of(resumo));
+
+		//Ação
+		service.estornar(lancamento);
+
+		//Verificação
+		Mockito.verify(repository).delete(resumo);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	public void deveAgruparOsLancamentosEAtualizarCadaResumoUmaUnicaVez() {
+		//Cenário
+		Lancamento janeiro = criarLancamento();
+		Lancamento outroJaneiro = criarLancamento();
+		Lancamento receita = criarLancamento();
+		receita.setTipo(TipoLancamento.RECEITA);
+		Mockito.when(repository.obterParaAtualizacao(Mockito.any())).thenReturn(Optional.empty());
+
+		//Ação
+		service.registrarTodos(Arrays.asList(receita, janeiro, outroJaneiro));
+
+		//Verificação
+		InOrder ordem = Mockito.inOrder(repository);
+		ordem.verify(repository).obterParaAtualizacao(ResumoMensalId.de(receita));
+		ordem.verify(repository).obterParaAtualizacao(ResumoMensalId.de(janeiro));
+		Mockito.verify(repository, Mockito.times(2)).save(Mockito.any());
+	}
+
+	@Test
+	public void deveTransferirOsTotaisParaOResumoDoNovoStatus() {
+		//Cenário
+		ResumoMensal pendente = new ResumoMensal(ID_USUARIO, 2023, 1, TipoLancamento.DESPESA,
+				StatusLancamento.PENDENTE, 3L, BigDecimal.valueOf(30));
+		ResumoMensal gravado = new ResumoMensal(pendente.getId(), 5L, Dinheiro.de(BigDecimal.valueOf(50)));
+		ResumoMensalId efetivado = new ResumoMensalId(ID_USUARIO, 2023, 1, TipoLancamento.DESPESA,
+				StatusLancamento.EFETIVADO);
+		Mockito.when(repository.obterParaAtualizacao(pendente.getId())).thenReturn(Optional.of(gravado));
+		Mockito.when(repository.obterParaAtualizacao(efetivado)).thenReturn(Optional.empty());
+
+		//Ação
+		service.transferir(Collections.singletonList(pendente), StatusLancamento.EFETIVADO);
+
+		//Verificação
+		ArgumentCaptor<ResumoMensal> captor = ArgumentCaptor.forClass(ResumoMensal.class);
+		Mockito.verify(repository, Mockito.times(2)).save(captor.capture());
+		assertThat(captor.getAllValues().get(0).getQuantidade()).isEqualTo(2L);
+		assertThat(captor.getAllValues().get(0).getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(20)));
+		assertThat(captor.getAllValues().get(1).getId()).isEqualTo(efetivado);
+		assertThat(captor.getAllValues().get(1).getQuantidade()).isEqualTo(3L);
+		assertThat(captor.getAllValues().get(1).getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(30)));
+	}
+
+	@Test
+	public void deveCriarOsResumosDosLancamentosGravadosNaPrimeiraAlteracaoDoUsuario() {
+		//Cenário
+		Lancamento lancamento = criarLancamento();
+		ResumoMensalId id = ResumoMensalId.de(lancamento);
+		ResumoMensal gravado = new ResumoMensal(id, 2L, Dinheiro.de(BigDecimal.valueOf(25)));
+		Mockito.when(repository.possuiResumo(ID_USUARIO)).thenReturn(false);
+		Mockito.when(repository.obterParaAtualizacao(id)).thenReturn(Optional.empty(), Optional.of(gravado));
+
+		//Ação
+		service.registrar(lancamento);
+
+		//Verificação
+		Mockito.verify(repository).inserirDosLancamentos(ID_USUARIO);
+		Mockito.verify(repository).save(gravado);
+		assertThat(gravado.getQuantidade()).isEqualTo(3L);
+		assertThat(gravado.getTotal()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(35)));
+	}
+
+	@Test
+	public void naoDeveRecriarOsResumosDeUsuarioQueJaPossuiResumos() {
+		//Cenário
+		Lancamento lancamento = criarLancamento();
+		Mockito.when(repository.obterParaAtualizacao(ResumoMensalId.de(lancamento))).thenReturn(Optional.empty());
+		Mockito.when(repository.possuiResumo(ID_USUARIO)).thenReturn(true);
+
+		//Ação
+		service.registrar(lancamento);
+
+		//Verificação
+		Mockito.verify(repository, Mockito.never()).inserirDosLancamentos(Mockito.any());
+		Mockito.verify(repository).save(Mockito.any());
+	}
+
+	@Test
+	public void deveCalcularOResumoQuandoNaoHouverRollupParaOUsuario() {
+		//Cenário
+		List<ResumoMensal> calculado = Collections
+				.singletonList(new ResumoMensal(ID_USUARIO, 2023, 1, TipoLancamento.DESPESA,
+						StatusLancamento.PENDENTE, 1L, BigDecimal.TEN));
+		Mockito.when(repository.obterPorUsuario(ID_USUARIO, 2023, 2023)).thenReturn(Collections.emptyList());
+		Mockito.when(lancamentoRepository.calcularResumo(ID_USUARIO, 2023, 2023)).thenReturn(calculado);
+
+		//Ação
+		List<ResumoMensal> resumo = service.obterResumo(ID_USUARIO, 2023, 2023);
+
+		//Verificação
+		assertThat(resumo).isEqualTo(calculado);
+	}
+
+	@Test
+	public void deveBloquearAsGravacoesAntesDeRecalcularOsResumos() {
+		//Cenário
+		List<ResumoMensal> calculados = Collections
+				.singletonList(new ResumoMensal(ID_USUARIO, 2023, 1, TipoLancamento.DESPESA,
+						StatusLancamento.PENDENTE, 1L, BigDecimal.TEN));
+		Mockito.when(lancamentoRepository.calcularTodosOsResumos()).thenReturn(calculados);
+
+		//Ação
+		service.recalcular();
+
+		//Verificação
+		InOrder ordem = Mockito.inOrder(repository, lancamentoRepository);
+		ordem.verify(repository).bloquearGravacoes();
+		ordem.verify(repository).deleteAllInBatch();
+		ordem.verify(lancamentoRepository).calcularTodosOsResumos();
+		ordem.verify(repository).saveAll(calculados);
+	}
+
+	private Lancamento criarLancamento() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(ID_USUARIO).build());
+		return lancamento;
+	}
+}
@@ -0,0 +1,169 @@
+package com.gupan.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.model.entity.Dinheiro;
+import com.gupan.minhasfinancas.model.entity.Lancamento;
+import com.gupan.minhasfinancas.model.entity.SaldoUsuario;
+import com.gupan.minhasfinancas.model.entity.Usuario;
+import com.gupan.minhasfinancas.model.enums.TipoLancamento;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepository;
+import com.gupan.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.gupan.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.gupan.minhasfinancas.service.impl.LancamentosEmMemoria;
+import com.gupan.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+	private static final Long ID_USUARIO = 1L;
+
+	@SpyBean
+	SaldoUsuarioServiceImpl service;
+
+	@MockBean
+	SaldoUsuarioRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	CacheConsultaService cacheConsulta;
+
+	@MockBean
+	LancamentosEmMemoria memoria;
+
+	@Test
+	public void deveSomarUmaDespesaAoSaldoExistente() {
+		//Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(ID_USUARIO).build());
+		SaldoUsuario saldo = new SaldoUsuario(ID_USUARIO, Dinheiro.de(BigDecimal.valueOf(100)), Dinheiro.de(BigDecimal.valueOf(30)));
+		Mockito.when(repository.obterParaAtualizacao(ID_USUARIO)).thenReturn(Optional.of(saldo));
+
+		//Ação
+		service.registrar(lancamento);
+
+		//Verificação
+		assertThat(saldo.getDespesas()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(40)));
+		assertThat(saldo.getSaldo()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(60)));
+		Mockito.verify(repository).save(saldo);
+	}
+
+	@Test
+	public void deveCriarOSaldoAPartirDosLancamentosGravadosAoEstornarUmLancamentoDeUsuarioSemSaldo() {
+		//Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(ID_USUARIO).build());
+		lancamento.setTipo(TipoLancamento.RECEITA);
+		List<Object[]> totais = Arrays.asList(new Object[] { TipoLancamento.RECEITA, BigDecimal.valueOf(100) },
+				new Object[] { TipoLancamento.DESPESA, BigDecimal.valueOf(25) });
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(ID_USUARIO)).thenReturn(totais);
+		SaldoUsuario criado = new SaldoUsuario(ID_USUARIO, Dinheiro.de(BigDecimal.valueOf(100)), Dinheiro.de(BigDecimal.valueOf(25)));
+		Mockito.when(repository.obterParaAtualizacao(ID_USUARIO)).thenReturn(Optional.empty(), Optional.of(criado));
+
+		//Ação
+		service.estornar(lancamento);
+
+		//Verificação
+		Mockito.verify(repository).inserirSeAusente(Mockito.eq(ID_USUARIO),
+				Mockito.argThat(receitas -> receitas.compareTo(BigDecimal.valueOf(100)) == 0),
+				Mockito.argThat(despesas -> despesas.compareTo(BigDecimal.valueOf(25)) == 0));
+		Mockito.verify(repository).save(criado);
+		assertThat(criado.getReceitas()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(90)));
+	}
+
+	@Test
+	public void deveAplicarAVariacaoSobreOSaldoCriadoPorOutraTransacao() {
+		//Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(ID_USUARIO).build());
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(ID_USUARIO)).thenReturn(Collections.emptyList());
+		SaldoUsuario concorrente = new SaldoUsuario(ID_USUARIO, Dinheiro.de(BigDecimal.valueOf(50)), Dinheiro.ZERO);
+		Mockito.when(repository.inserirSeAusente(Mockito.eq(ID_USUARIO), Mockito.any(), Mockito.any())).thenReturn(0);
+		Mockito.when(repository.obterParaAtualizacao(ID_USUARIO)).thenReturn(Optional.empty(), Optional.of(concorrente));
+
+		//Ação
+		service.registrar(lancamento);
+
+		//Verificação
+		Mockito.verify(repository).save(concorrente);
+		assertThat(concorrente.getSaldo()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(40)));
+	}
+
+	@Test
+	public void deveRecalcularCadaUsuarioSobOBloqueioDoSeuSaldo() {
+		//Cenário
+		Long outroUsuario = 2L;
+		Mockito.when(lancamentoRepository.obterUsuariosComLancamentos()).thenReturn(Arrays.asList(ID_USUARIO));
+		Mockito.when(repository.obterUsuarios()).thenReturn(Arrays.asList(outroUsuario, ID_USUARIO));
+		SaldoUsuario saldo = new SaldoUsuario(ID_USUARIO, Dinheiro.de(BigDecimal.valueOf(999)), Dinheiro.ZERO);
+		SaldoUsuario semLancamentos = new SaldoUsuario(outroUsuario, Dinheiro.de(BigDecimal.valueOf(10)), Dinheiro.ZERO);
+		Mockito.when(repository.obterParaAtualizacao(ID_USUARIO)).thenReturn(Optional.of(saldo));
+		Mockito.when(repository.obterParaAtualizacao(outroUsuario)).thenReturn(Optional.of(semLancamentos));
+		List<Object[]> totais = Arrays.asList(new Object[] { TipoLancamento.RECEITA, BigDecimal.valueOf(100) },
+				new Object[] { TipoLancamento.DESPESA, BigDecimal.valueOf(25) });
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(ID_USUARIO)).thenReturn(totais);
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(outroUsuario)).thenReturn(Collections.emptyList());
+
+		//Ação
+		service.recalcular();
+
+		//Verificação
+		InOrder ordem = Mockito.inOrder(repository);
+		ordem.verify(repository).obterParaAtualizacao(ID_USUARIO);
+		ordem.verify(repository).save(saldo);
+		ordem.verify(repository).obterParaAtualizacao(outroUsuario);
+		ordem.verify(repository).save(semLancamentos);
+		assertThat(saldo.getSaldo()).isEqualTo(Dinheiro.de(BigDecimal.valueOf(75)));
+		assertThat(semLancamentos.getSaldo()).isEqualTo(Dinheiro.ZERO);
+		Mockito.verify(repository, Mockito.never()).deleteAllInBatch();
+		Mockito.verify(cacheConsulta).invalidarTodos();
+		Mockito.verify(memoria).descartarTodos();
+	}
+
+	@Test
+	public void deveCalcularOSaldoComUmaUnicaConsultaQuandoNaoHouverSaldoArmazenado() {
+		//Cenário
+		Mockito.when(repository.findById(ID_USUARIO)).thenReturn(Optional.empty());
+		List<Object[]> totais = Arrays.asList(new Object[] { TipoLancamento.RECEITA, BigDecimal.valueOf(100) },
+				new Object[] { TipoLancamento.DESPESA, BigDecimal.valueOf(25) });
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(ID_USUARIO)).thenReturn(totais);
+
+		//Ação
+		BigDecimal saldo = service.obterSaldo(ID_USUARIO);
+
+		//Verificação
+		assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(75));
+		Mockito.verify(lancamentoRepository, Mockito.times(1)).obterTotaisPorTipo(ID_USUARIO);
+	}
+
+	@Test
+	public void deveRetornarSaldoZeradoQuandoNaoHouverLancamentos() {
+		//Cenário
+		Mockito.when(repository.findById(ID_USUARIO)).thenReturn(Optional.empty());
+		Mockito.when(lancamentoRepository.obterTotaisPorTipo(ID_USUARIO)).thenReturn(Collections.emptyList());
+
+		//Ação
+		BigDecimal saldo = service.obterSaldo(ID_USUARIO);
+
+		//Verificação
+		assertThat(saldo).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+}
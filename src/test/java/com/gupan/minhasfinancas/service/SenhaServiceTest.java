@@ -0,0 +1,91 @@
+package com.gupan.minhasfinancas.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.gupan.minhasfinancas.config.CacheConfig;
+import com.gupan.minhasfinancas.config.SenhaConfig;
+import com.gupan.minhasfinancas.service.impl.SenhaServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SenhaServiceTest {
+
+	private static final String SENHA = "senha";
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public PasswordEncoder passwordEncoder() {
+			return SenhaConfig.criarCodificador(SenhaConfig.BCRYPT, 4, 1024, 1);
+		}
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager(CacheConfig.SENHAS_CONFERIDAS);
+		}
+	}
+
+	@SpyBean
+	SenhaServiceImpl service;
+
+	@SpyBean
+	PasswordEncoder codificador;
+
+	@Test
+	public void deveCodificarEConferirASenha() {
+		// Cenário
+		String senhaGravada = service.codificar(SENHA);
+
+		// Ação e Verificação
+		Assertions.assertThat(senhaGravada).startsWith("{bcrypt}").doesNotContain(SENHA);
+		Assertions.assertThat(service.confere(SENHA, senhaGravada)).isTrue();
+		Assertions.assertThat(service.confere("outra", senhaGravada)).isFalse();
+		Assertions.assertThat(service.precisaAtualizar(senhaGravada)).isFalse();
+	}
+
+	@Test
+	public void deveReaproveitarAConferenciaJaRealizada() {
+		// Cenário
+		String senhaGravada = service.codificar(SENHA);
+		service.confere(SENHA, senhaGravada);
+
+		// Ação
+		boolean confere = service.confere(SENHA, senhaGravada);
+		boolean senhaErrada = service.confere("outra", senhaGravada);
+
+		// Verificação
+		Assertions.assertThat(confere).isTrue();
+		Assertions.assertThat(senhaErrada).isFalse();
+		Mockito.verify(codificador, Mockito.times(2)).matches(Mockito.any(), Mockito.eq(senhaGravada));
+	}
+
+	@Test
+	public void deveConferirEPedirAtualizacaoDaSenhaEmTextoPuro() {
+		// Ação e Verificação
+		Assertions.assertThat(service.confere(SENHA, SENHA)).isTrue();
+		Assertions.assertThat(service.confere("outra", SENHA)).isFalse();
+		Assertions.assertThat(service.precisaAtualizar(SENHA)).isTrue();
+	}
+
+	@Test
+	public void devePedirAtualizacaoQuandoOAlgoritmoForOutro() {
+		// Cenário
+		String senhaGravada = SenhaConfig.criarCodificador(SenhaConfig.ARGON2, 4, 1024, 1).encode(SENHA);
+
+		// Ação e Verificação
+		Assertions.assertThat(service.confere(SENHA, senhaGravada)).isTrue();
+		Assertions.assertThat(service.precisaAtualizar(senhaGravada)).isTrue();
+	}
+}
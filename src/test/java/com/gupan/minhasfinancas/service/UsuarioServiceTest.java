@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.gupan.minhasfinancas.config.CacheConfig;
 import com.gupan.minhasfinancas.exception.ErroAutenticacaoException;
 import com.gupan.minhasfinancas.exception.RegraNegocioException;
 import com.gupan.minhasfinancas.model.entity.Usuario;
@@ -32,6 +35,12 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 
+	@MockBean
+	SenhaService senhaService;
+
+	@MockBean
+	CacheManager cacheManager;
+
 	@Test
 	public void deveAutenticarUmUsuarioComSucesso() {
 		
@@ -39,6 +48,7 @@ public class UsuarioServiceTest {
 			// Cenário
 			Usuario usuario = Usuario.builder().id(ID).nome(NOME).email(EMAIL).senha(SENHA).build();
 			Mockito.when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+			Mockito.when(senhaService.confere(SENHA, SENHA)).thenReturn(true);
 
 			// Ação
 			Usuario result = service.autenticar(EMAIL, SENHA);
@@ -48,6 +58,55 @@ public class UsuarioServiceTest {
 		});
 	}
 
+	@Test
+	public void deveAtualizarOHashDaSenhaAoAutenticar() {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(ID).nome(NOME).email(EMAIL).senha(SENHA).build();
+		Mockito.when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+		Mockito.when(senhaService.confere(SENHA, SENHA)).thenReturn(true);
+		Mockito.when(senhaService.precisaAtualizar(SENHA)).thenReturn(true);
+		Mockito.when(senhaService.codificar(SENHA)).thenReturn("{bcrypt}hash");
+		Mockito.when(cacheManager.getCache(CacheConfig.USUARIOS)).thenReturn(new ConcurrentMapCache(CacheConfig.USUARIOS));
+		Mockito.when(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL))
+				.thenReturn(new ConcurrentMapCache(CacheConfig.USUARIOS_POR_EMAIL));
+
+		// Ação
+		service.autenticar(EMAIL, SENHA);
+
+		// Verificação
+		Mockito.verify(repository).atualizarSenha(ID, SENHA, "{bcrypt}hash");
+	}
+
+	@Test
+	public void naoDeveAtualizarOHashDaSenhaQuandoJaEstiverAtualizado() {
+		// Cenário
+		Usuario usuario = Usuario.builder().id(ID).nome(NOME).email(EMAIL).senha("{bcrypt}hash").build();
+		Mockito.when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+		Mockito.when(senhaService.confere(SENHA, "{bcrypt}hash")).thenReturn(true);
+
+		// Ação
+		service.autenticar(EMAIL, SENHA);
+
+		// Verificação
+		Mockito.verify(repository, Mockito.never()).atualizarSenha(Mockito.anyLong(), Mockito.anyString(),
+				Mockito.anyString());
+		Mockito.verify(senhaService, Mockito.never()).codificar(Mockito.anyString());
+	}
+
+	@Test
+	public void deveSalvarUmUsuarioComASenhaCodificada() {
+		// Cenário
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Mockito.when(senhaService.codificar(SENHA)).thenReturn("{bcrypt}hash");
+		Mockito.when(repository.save(Mockito.any(Usuario.class))).then(invocation -> invocation.getArgument(0));
+
+		// Ação
+		Usuario result = service.salvarUsuario(Usuario.builder().nome(NOME).email(EMAIL).senha(SENHA).build());
+
+		// Verificação
+		org.assertj.core.api.Assertions.assertThat(result.getSenha()).isEqualTo("{bcrypt}hash");
+	}
+
 	@Test
 	public void deveSalvarUmUsuarioComSucesso() {
 		
@@ -138,4 +197,18 @@ public class UsuarioServiceTest {
 		});
 	}
 
+	@Test
+	public void deveObterAReferenciaSemCarregarOUsuario() {
+		// Cenário
+		Usuario referencia = new Usuario(ID);
+		Mockito.when(repository.getReferenceById(ID)).thenReturn(referencia);
+
+		// Ação
+		Usuario result = service.obterReferencia(ID);
+
+		// Verificação
+		org.assertj.core.api.Assertions.assertThat(result.getId()).isEqualTo(ID);
+		Mockito.verify(repository, Mockito.never()).findById(ID);
+	}
+
 }